@@ -5,6 +5,7 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ObjectMap;
 
 import java.io.*;
+import java.nio.charset.Charset;
 
 public class SHA1FileTable {
 
@@ -69,22 +70,22 @@ public class SHA1FileTable {
 	 */
 	public void save(FileHandle sha1sumFile) throws IOException {
 
-		BufferedWriter writer = new BufferedWriter(new FileWriter(sha1sumFile.file()));
-
 		Array<Entry> sortedValues = entries.values().toArray();
 		sortedValues.sort((value1, value2) -> value1.filePath.compareTo(value2.filePath));
 
-		for (Entry entry : sortedValues) {
+		try (AtomicFileWriter writer = new AtomicFileWriter(sha1sumFile, Charset.defaultCharset())) {
 
-			writer.write(entry.sha1.toString());
-			writer.write("  ");
-			writer.write(entry.filePath);
-			writer.write("\n");
+			for (Entry entry : sortedValues) {
 
-		}
+				writer.write(entry.sha1.toString());
+				writer.write("  ");
+				writer.write(entry.filePath);
+				writer.write("\n");
 
-		writer.flush();
-		writer.close();
+			}
+
+			writer.commit();
+		}
 	}
 
 	/**
@@ -105,7 +106,7 @@ public class SHA1FileTable {
 				return entry.checkResult;
 			}
 
-			SHA1 sha1 = FileStreamReader.hashStream(new FileInputStream(file));
+			SHA1 sha1 = FileStreamReader.hashFile(file);
 
 			if (sha1.equals(entry.sha1)) {
 				entry.checkResult = CheckFileResult.Unmodified;
@@ -126,7 +127,7 @@ public class SHA1FileTable {
 	 */
 	public void registerFile(File file) throws IOException {
 
-		SHA1 sha1 = FileStreamReader.hashStream(new FileInputStream(file));
+		SHA1 sha1 = FileStreamReader.hashFile(file);
 
 		if (isKnownFile(file)) {
 			Entry entry = entries.get(file.getPath());
@@ -137,6 +138,17 @@ public class SHA1FileTable {
 		}
 	}
 
+	/**
+	 * Marks a file for recheck, e.g. after a {@link FileWatcher} reported a change. The next call to
+	 * {@link SHA1FileTable#checkFile(File)} hashes the file again.
+	 */
+	public void invalidateFile(File file) {
+		Entry entry = entries.get(file.getPath());
+		if (entry != null) {
+			entry.checkResult = CheckFileResult.Unchecked;
+		}
+	}
+
 	/**
 	 * Removes a table entry.
 	 */
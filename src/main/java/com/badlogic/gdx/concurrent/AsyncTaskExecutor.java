@@ -12,13 +12,28 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class AsyncTaskExecutor implements Disposable {
 
 	private final ExecutorService service;
+	private final int threadCount;
+
+	private final ThreadLocal<Boolean> workerThread = new ThreadLocalInstance<>(() -> Boolean.FALSE);
 
 	public AsyncTaskExecutor(int threadCount, String threadNamePrefix) {
 
 		threadCount = Math.max(threadCount, 1);
 		GdxSnippets.log.info("Starting {} with {} threads.", threadNamePrefix, threadCount);
 
-		service = new FixedThreadPoolExecutor(threadCount, new Factory(threadNamePrefix));
+		this.threadCount = threadCount;
+		service = new FixedThreadPoolExecutor(threadCount, new Factory(threadNamePrefix, workerThread));
+	}
+
+	public int getThreadCount() {
+		return threadCount;
+	}
+
+	/**
+	 * Returns true if called from one of the threads of this executor.
+	 */
+	public boolean isWorkerThread() {
+		return workerThread.get();
 	}
 
 	public <V extends AsyncTaskJob<V>>
@@ -51,15 +66,21 @@ public class AsyncTaskExecutor implements Disposable {
 		private final ThreadGroup group;
 		private final AtomicInteger threadNumber = new AtomicInteger(1);
 		private final String namePrefix;
+		private final ThreadLocal<Boolean> workerThread;
 
-		Factory(String prefix) {
+		Factory(String prefix, ThreadLocal<Boolean> workerThread) {
 			group = Thread.currentThread().getThreadGroup();
 			namePrefix = prefix;
+			this.workerThread = workerThread;
 		}
 
 		@Override
 		public Thread newThread(Runnable runnable) {
-			Thread thread = new Thread(group, runnable, namePrefix + "-" + threadNumber.getAndIncrement());
+			Runnable worker = () -> {
+				workerThread.set(Boolean.TRUE);
+				runnable.run();
+			};
+			Thread thread = new Thread(group, worker, namePrefix + "-" + threadNumber.getAndIncrement());
 			thread.setDaemon(true);
 			return thread;
 		}
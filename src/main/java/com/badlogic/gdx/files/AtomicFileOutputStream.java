@@ -0,0 +1,281 @@
+package com.badlogic.gdx.files;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxSnippets;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A buffered {@link OutputStream} which writes to a temporary file first, then replaces the target file with an
+ * atomic move on {@link AtomicFileOutputStream#commit()}. Readers of the target file see either its old or its new
+ * content, never a partially written one.
+ * <p>
+ * If the stream is closed without being committed, e.g. because of an exception thrown while writing, the
+ * temporary file is deleted, and the target file is left untouched.
+ * <pre>
+ * {@code
+ * try (AtomicFileOutputStream stream = new AtomicFileOutputStream(file)) {
+ *     stream.write(...);
+ *     stream.commit();
+ * }
+ * }
+ * </pre>
+ */
+public class AtomicFileOutputStream extends OutputStream {
+
+	private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	private final Path target;
+	private final Path temp;
+	private final FileChannel channel;
+	private final OutputStream output;
+
+	private final boolean sync;
+	private final Batch batch;
+
+	private boolean closed;
+
+	public AtomicFileOutputStream(FileHandle file) throws IOException {
+		this(file, false);
+	}
+
+	/**
+	 * If sync == true, the temporary file is flushed to the storage device before it is moved.
+	 */
+	public AtomicFileOutputStream(FileHandle file, boolean sync) throws IOException {
+		this(file.file().toPath(), sync, null);
+	}
+
+	/**
+	 * Creates a stream which is added to a {@link Batch} on commit. The target file is replaced
+	 * when the batch is committed.
+	 */
+	public AtomicFileOutputStream(FileHandle file, Batch batch) throws IOException {
+		this(file.file().toPath(), batch.sync, batch);
+	}
+
+	private AtomicFileOutputStream(Path target, boolean sync, Batch batch) throws IOException {
+
+		this.target = target.toAbsolutePath();
+		this.sync = sync;
+		this.batch = batch;
+
+		Path folder = this.target.getParent();
+		Files.createDirectories(folder);
+
+		temp = createTempFile(folder, this.target.getFileName().toString());
+		channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		output = new BufferedOutputStream(Channels.newOutputStream(channel), DEFAULT_BUFFER_SIZE);
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		ensureOpen();
+		output.write(b);
+	}
+
+	@Override
+	public void write(byte[] bytes, int offset, int length) throws IOException {
+		ensureOpen();
+		output.write(bytes, offset, length);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		// allowed after commit, some writers flush on close
+		if (!closed) {
+			output.flush();
+		}
+	}
+
+	/**
+	 * Finishes writing, and replaces the target file. If this stream is part of a {@link Batch}, the
+	 * target file is replaced by {@link Batch#commit()} instead.
+	 */
+	public void commit() throws IOException {
+
+		ensureOpen();
+		output.flush();
+
+		closed = true;
+
+		if (batch != null) {
+			batch.add(this);
+		} else {
+			finish(true);
+		}
+	}
+
+	/**
+	 * Closes the stream. If it hasn't been committed, the temporary file is deleted.
+	 */
+	@Override
+	public void close() throws IOException {
+
+		if (closed) {
+			return;
+		}
+
+		closed = true;
+
+		try {
+			channel.close();
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException("Stream closed: " + target);
+		}
+	}
+
+	private void finish(boolean move) throws IOException {
+
+		try {
+
+			if (sync) {
+				channel.force(true);
+			}
+
+			channel.close();
+
+			if (move) {
+				move();
+			}
+
+		} catch (IOException e) {
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+	}
+
+	private void move() throws IOException {
+
+		copyPermissions(target, temp);
+
+		try {
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Creates an empty file with a unique name. Unlike {@link Files#createTempFile(Path, String, String)}, which
+	 * restricts access to the owner, the file is created with the default permissions of new files.
+	 */
+	private static Path createTempFile(Path folder, String name) throws IOException {
+
+		for (;;) {
+
+			Path path = folder.resolve(name + "." + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+
+			try {
+				Files.newByteChannel(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW).close();
+				return path;
+			} catch (FileAlreadyExistsException ignored) {
+				// try again with another name
+			}
+		}
+	}
+
+	/**
+	 * Applies the permissions of the file replaced to the new one. Does nothing if the target file doesn't exist
+	 * yet, or if the file system has no POSIX permissions.
+	 */
+	private static void copyPermissions(Path source, Path target) {
+
+		try {
+			PosixFileAttributeView view = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+			if (view != null && Files.exists(source)) {
+				Files.setPosixFilePermissions(target, view.readAttributes().permissions());
+			}
+		} catch (IOException | UnsupportedOperationException e) {
+			GdxSnippets.log.debug("Failed to copy file permissions of {}", source);
+		}
+	}
+
+	/**
+	 * Groups multiple atomic file writes. Files added to the batch are flushed to the storage device in one go
+	 * (if sync == true), then all moved, followed by one flush per folder touched.
+	 * <p>
+	 * Closing the batch without committing discards all pending files.
+	 */
+	public static class Batch implements Closeable {
+
+		private final boolean sync;
+		private final Array<AtomicFileOutputStream> pending = new Array<>();
+
+		public Batch(boolean sync) {
+			this.sync = sync;
+		}
+
+		synchronized void add(AtomicFileOutputStream stream) {
+			pending.add(stream);
+		}
+
+		public synchronized void commit() throws IOException {
+
+			try {
+
+				for (AtomicFileOutputStream stream : pending) {
+					stream.finish(false);
+				}
+
+				Array<Path> folders = new Array<>();
+
+				for (AtomicFileOutputStream stream : pending) {
+
+					stream.move();
+
+					Path folder = stream.target.getParent();
+					if (!folders.contains(folder, false)) {
+						folders.add(folder);
+					}
+				}
+
+				pending.clear();
+
+				if (sync) {
+					for (Path folder : folders) {
+						syncFolder(folder);
+					}
+				}
+
+			} finally {
+				close();
+			}
+		}
+
+		@Override
+		public synchronized void close() throws IOException {
+
+			for (AtomicFileOutputStream stream : pending) {
+				try {
+					stream.channel.close();
+				} finally {
+					Files.deleteIfExists(stream.temp);
+				}
+			}
+
+			pending.clear();
+		}
+
+		private static void syncFolder(Path folder) {
+			// not supported on all platforms, e.g. Windows
+			try (FileChannel channel = FileChannel.open(folder, StandardOpenOption.READ)) {
+				channel.force(true);
+			} catch (IOException e) {
+				GdxSnippets.log.debug("Failed to sync folder {}", folder);
+			}
+		}
+	}
+
+}
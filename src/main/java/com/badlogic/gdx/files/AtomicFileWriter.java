@@ -0,0 +1,158 @@
+package com.badlogic.gdx.files;
+
+import com.badlogic.gdx.utils.Host;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * A {@link Writer} on top of {@link AtomicFileOutputStream}, with optional on-the-fly newline translation.
+ * <p>
+ * If a newline sequence is specified, any line terminator written ("\n", "\r\n" or "\r") is replaced with it.
+ * <p>
+ * Just like with the underlying stream, {@link AtomicFileWriter#commit()} must be called before closing the
+ * writer. Otherwise the target file is left untouched.
+ */
+public class AtomicFileWriter extends Writer {
+
+	/**
+	 * Line separator of the host platform.
+	 */
+	public static final String PLATFORM_NEWLINE = Host.os != Host.OS.Windows ? "\n" : "\r\n";
+
+	private final AtomicFileOutputStream stream;
+	private final Writer writer;
+	private final String newLine;
+
+	private boolean skipLF;
+
+	public AtomicFileWriter(FileHandle file, Charset charset) throws IOException {
+		this(new AtomicFileOutputStream(file), charset, null);
+	}
+
+	public AtomicFileWriter(FileHandle file, Charset charset, String newLine) throws IOException {
+		this(new AtomicFileOutputStream(file), charset, newLine);
+	}
+
+	/**
+	 * @param newLine the newline sequence to translate line terminators to, or null to write text unmodified
+	 */
+	public AtomicFileWriter(AtomicFileOutputStream stream, Charset charset, String newLine) {
+		this.stream = stream;
+		this.writer = new OutputStreamWriter(stream, charset);
+		this.newLine = newLine;
+	}
+
+	@Override
+	public void write(char[] chars, int offset, int length) throws IOException {
+
+		if (newLine == null) {
+			writer.write(chars, offset, length);
+			return;
+		}
+
+		int end = offset + length;
+		int start = offset;
+
+		for (int i = offset; i < end; i++) {
+
+			char c = chars[i];
+
+			if (c != '\n' && c != '\r') {
+				skipLF = false;
+				continue;
+			}
+
+			writer.write(chars, start, i - start);
+			start = i + 1;
+
+			if (c == '\n' && skipLF) {
+				skipLF = false;
+				continue;
+			}
+
+			writer.write(newLine);
+			skipLF = c == '\r';
+		}
+
+		writer.write(chars, start, end - start);
+	}
+
+	@Override
+	public void write(String text, int offset, int length) throws IOException {
+
+		if (newLine == null) {
+			writer.write(text, offset, length);
+			return;
+		}
+
+		int end = offset + length;
+		int start = offset;
+
+		for (int i = offset; i < end; i++) {
+
+			char c = text.charAt(i);
+
+			if (c != '\n' && c != '\r') {
+				skipLF = false;
+				continue;
+			}
+
+			writer.write(text, start, i - start);
+			start = i + 1;
+
+			if (c == '\n' && skipLF) {
+				skipLF = false;
+				continue;
+			}
+
+			writer.write(newLine);
+			skipLF = c == '\r';
+		}
+
+		writer.write(text, start, end - start);
+	}
+
+	@Override
+	public void write(int c) throws IOException {
+
+		if (newLine == null || (c != '\n' && c != '\r')) {
+			skipLF = false;
+			writer.write(c);
+			return;
+		}
+
+		if (c == '\n' && skipLF) {
+			skipLF = false;
+			return;
+		}
+
+		writer.write(newLine);
+		skipLF = c == '\r';
+	}
+
+	@Override
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+	/**
+	 * Flushes all pending output, and commits the underlying {@link AtomicFileOutputStream}.
+	 */
+	public void commit() throws IOException {
+		writer.flush();
+		stream.commit();
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			writer.close();
+		} finally {
+			stream.close();
+		}
+	}
+
+}
@@ -0,0 +1,17 @@
+package com.badlogic.gdx.files;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Variant of {@link FileStreamConsumer} which receives blocks of data as {@link ByteBuffer}.
+ * <p>
+ * The buffer passed is only valid for the duration of the call. Its content is consumed
+ * between {@link ByteBuffer#position()} and {@link ByteBuffer#limit()}.
+ */
+@FunctionalInterface
+public interface FileBufferConsumer {
+
+	void read(ByteBuffer buffer) throws IOException;
+
+}
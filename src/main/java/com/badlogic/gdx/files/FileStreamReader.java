@@ -1,11 +1,30 @@
 package com.badlogic.gdx.files;
 
+import com.badlogic.gdx.Files.FileType;
 import com.badlogic.gdx.checksum.SHA1;
+import com.badlogic.gdx.concurrent.AsyncTaskExecutor;
+import com.badlogic.gdx.concurrent.ThreadLocalInstance;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 public final class FileStreamReader {
 
+	/**
+	 * Default block size used by the {@link ReadableByteChannel} functions.
+	 */
+	public static final int DEFAULT_BLOCK_SIZE = 256 * 1024;
+
+	/**
+	 * Two direct buffers per thread, the second one only used for asynchronous read-ahead.
+	 */
+	private static final ThreadLocal<ByteBuffer[]> directBuffers =
+			new ThreadLocalInstance<>(() -> new ByteBuffer[2]);
+
 	/**
 	 * Uses a {@link BufferedInputStream} to consume an {@link InputStream}.
 	 */
@@ -29,6 +48,115 @@ public final class FileStreamReader {
 		}
 	}
 
+	/**
+	 * Opens a file for reading with {@link FileStreamReader#readChannel(ReadableByteChannel, int, FileBufferConsumer)}.
+	 * <p>
+	 * Files with a representation on disk are opened as {@link FileChannel}. For classpath files, and internal
+	 * files which are not found on disk, this falls back to a channel wrapped around {@link FileHandle#read()}.
+	 */
+	public static ReadableByteChannel openChannel(FileHandle file) throws IOException {
+
+		if (file.type() == FileType.Classpath || (file.type() == FileType.Internal && !file.file().exists())) {
+			return Channels.newChannel(file.read());
+		}
+
+		return FileChannel.open(file.file().toPath(), StandardOpenOption.READ);
+	}
+
+	/**
+	 * Reads a file in blocks of {@link FileStreamReader#DEFAULT_BLOCK_SIZE} bytes.
+	 */
+	public static void readFile(FileHandle file, FileBufferConsumer consumer) throws IOException {
+		readFile(file, DEFAULT_BLOCK_SIZE, null, consumer);
+	}
+
+	/**
+	 * Reads a file in blocks of the given size. If an executor is passed, the next block is read
+	 * asynchronously while the consumer processes the current one.
+	 */
+	public static void readFile(FileHandle file,
+								int blockSize,
+								AsyncTaskExecutor executor,
+								FileBufferConsumer consumer) throws IOException {
+
+		try (ReadableByteChannel channel = openChannel(file)) {
+			readChannel(channel, blockSize, executor, consumer);
+		}
+	}
+
+	/**
+	 * Consumes a {@link ReadableByteChannel} in blocks of the given size.
+	 * <p>
+	 * Each block is filled completely, except for the last one. The data is read into a direct
+	 * {@link ByteBuffer} which is owned by the calling thread, and re-used between calls. This means that
+	 * this function must not be called recursively from within the consumer.
+	 * <p>
+	 * The channel is not closed by this function.
+	 */
+	public static void readChannel(ReadableByteChannel channel,
+								   int blockSize,
+								   FileBufferConsumer consumer) throws IOException {
+
+		ByteBuffer buffer = obtainDirectBuffer(0, blockSize);
+
+		while (fill(channel, buffer) > 0) {
+
+			buffer.flip();
+			consumer.read(buffer);
+
+			buffer.clear();
+			buffer.limit(blockSize);
+		}
+	}
+
+	/**
+	 * Double-buffered version of {@link FileStreamReader#readChannel(ReadableByteChannel, int, FileBufferConsumer)}.
+	 * <p>
+	 * While the consumer processes one block on the calling thread, the next block is read ahead by a
+	 * job scheduled to the {@link AsyncTaskExecutor}. If the executor is null, this function falls back to
+	 * synchronous reads.
+	 */
+	public static void readChannel(ReadableByteChannel channel,
+								   int blockSize,
+								   AsyncTaskExecutor executor,
+								   FileBufferConsumer consumer) throws IOException {
+
+		if (executor == null) {
+			readChannel(channel, blockSize, consumer);
+			return;
+		}
+
+		ByteBuffer front = obtainDirectBuffer(0, blockSize);
+		ByteBuffer back = obtainDirectBuffer(1, blockSize);
+
+		int n = fill(channel, front);
+
+		while (n > 0) {
+
+			ByteBuffer next = back;
+			FutureTask<Integer> readAhead = new FutureTask<>(() -> fill(channel, next));
+			executor.executeJob(readAhead);
+
+			front.flip();
+
+			try {
+				consumer.read(front);
+			} catch (IOException | RuntimeException e) {
+				// don't leave with the back buffer still being written to
+				awaitQuietly(readAhead);
+				throw e;
+			}
+
+			n = await(readAhead);
+
+			back = front;
+			back.clear();
+			back.limit(blockSize);
+
+			front = next;
+		}
+	}
+
 	/**
 	 * Calculates the SHA-1 hash on a {@link InputStream}.
 	 */
@@ -44,4 +172,87 @@ public final class FileStreamReader {
 		return sha1;
 	}
 
+	/**
+	 * Calculates the SHA-1 hash of a file, reading it through a {@link FileChannel}.
+	 */
+	public static SHA1 hashFile(File file) throws IOException {
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+
+			// open the file first, the SHA1 state of this thread must be submitted in any case once created
+			SHA1 sha1 = SHA1.create();
+
+			try {
+				readChannel(channel, DEFAULT_BLOCK_SIZE,
+						buffer -> SHA1.update(sha1, buffer));
+			} finally {
+				SHA1.submit(sha1);
+			}
+
+			return sha1;
+		}
+	}
+
+	private static ByteBuffer obtainDirectBuffer(int index, int blockSize) {
+
+		ByteBuffer[] buffers = directBuffers.get();
+		ByteBuffer buffer = buffers[index];
+
+		if (buffer == null || buffer.capacity() < blockSize) {
+			buffer = ByteBuffer.allocateDirect(blockSize);
+			buffers[index] = buffer;
+		}
+
+		buffer.clear();
+		buffer.limit(blockSize);
+
+		return buffer;
+	}
+
+	/**
+	 * Reads from the channel until the buffer is full, or the end of the stream is reached.
+	 * Returns the number of bytes read.
+	 */
+	private static int fill(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+
+		int total = 0;
+
+		while (buffer.hasRemaining()) {
+
+			int n = channel.read(buffer);
+
+			if (n < 0) {
+				break;
+			}
+
+			total += n;
+		}
+
+		return total;
+	}
+
+	private static int await(FutureTask<Integer> task) throws IOException {
+
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for read-ahead");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+
+	private static void awaitQuietly(FutureTask<Integer> task) {
+		try {
+			await(task);
+		} catch (IOException ignored) {
+
+		}
+	}
+
 }
@@ -0,0 +1,277 @@
+package com.badlogic.gdx.files;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.concurrent.AsyncTaskExecutor;
+import com.badlogic.gdx.utils.Array;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Lists the content of a folder, optionally recursive, filtered and sorted.
+ * <p>
+ * Each folder is read with a {@link DirectoryStream}. The attributes of each entry are read exactly once, and
+ * cached for sorting. The sort order is the same as with {@link FileUtils#DEFAULT_COMPARATOR}.
+ * <p>
+ * With an {@link AsyncTaskExecutor}, recursive walks list all folders of the same depth in parallel. The result
+ * is the same as with a sequential walk.
+ * <pre>
+ * {@code
+ * Array<FileHandle> files = new FileTreeWalker()
+ *     .recursive()
+ *     .glob("*.{png,jpg}")
+ *     .walk(folder);
+ * }
+ * </pre>
+ */
+public class FileTreeWalker {
+
+	private static final Comparator<Entry> comparator = (entry1, entry2) -> {
+
+		if (entry1.directory != entry2.directory) {
+			return entry1.directory ? -1 : 1;
+		}
+
+		return entry1.name.compareToIgnoreCase(entry2.name);
+	};
+
+	private String suffix;
+	private PathMatcher glob;
+	private boolean recursive;
+	private boolean sorted = true;
+	private AsyncTaskExecutor executor;
+
+	/**
+	 * Only accepts entries with names ending with the given suffix, just like {@link FileHandle#list(String)}.
+	 */
+	public FileTreeWalker suffix(String suffix) {
+		this.suffix = suffix;
+		return this;
+	}
+
+	/**
+	 * Only accepts entries with names matching the given glob pattern.
+	 *
+	 * @see FileSystem#getPathMatcher(String)
+	 */
+	public FileTreeWalker glob(String pattern) {
+		this.glob = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+		return this;
+	}
+
+	/**
+	 * Descends into sub-folders. Filters don't apply to the decision whether to descend into a folder, only to
+	 * whether the folder itself is part of the result.
+	 * <p>
+	 * Symbolic links to folders are not followed.
+	 */
+	public FileTreeWalker recursive() {
+		this.recursive = true;
+		return this;
+	}
+
+	/**
+	 * Returns entries in the order reported by the file system.
+	 */
+	public FileTreeWalker unsorted() {
+		this.sorted = false;
+		return this;
+	}
+
+	/**
+	 * Lists folders in parallel on the given executor. This function must not be called from one of the
+	 * executor's worker threads.
+	 */
+	public FileTreeWalker parallel(AsyncTaskExecutor executor) {
+		this.executor = executor;
+		return this;
+	}
+
+	/**
+	 * Walks the folder. With {@link FileTreeWalker#recursive()}, the content of each sub-folder directly
+	 * follows the sub-folder itself.
+	 */
+	public Array<FileHandle> walk(FileHandle folder) throws IOException {
+
+		Array<FileHandle> result = new Array<>(FileHandle.class);
+
+		if (folder.type() == FileType.Classpath
+				|| (folder.type() == FileType.Internal && !folder.file().exists())) {
+
+			// no file system access, use whatever FileHandle does
+			FileHandle[] files = folder.list();
+
+			if (sorted) {
+				java.util.Arrays.sort(files, FileUtils.DEFAULT_COMPARATOR);
+			}
+
+			for (FileHandle file : files) {
+				if (accept(file.name())) {
+					result.add(file);
+				}
+			}
+
+			return result;
+		}
+
+		Entry root = new Entry(folder, folder.name(), true);
+
+		if (recursive && executor != null) {
+			listParallel(root);
+		} else {
+			list(root);
+		}
+
+		collect(root, result);
+
+		return result;
+	}
+
+	private void list(Entry folder) throws IOException {
+
+		folder.children = listFolder(folder.file);
+
+		if (!recursive) {
+			return;
+		}
+
+		for (Entry entry : folder.children) {
+			if (entry.directory && !entry.link) {
+				list(entry);
+			}
+		}
+	}
+
+	private void listParallel(Entry root) throws IOException {
+
+		Array<Entry> level = new Array<>();
+		level.add(root);
+
+		Array<FutureTask<Array<Entry>>> tasks = new Array<>();
+
+		while (level.size > 0) {
+
+			for (Entry folder : level) {
+				FutureTask<Array<Entry>> task = new FutureTask<>(() -> listFolder(folder.file));
+				executor.executeJob(task);
+				tasks.add(task);
+			}
+
+			Array<Entry> nextLevel = new Array<>();
+
+			for (int i = 0; i < level.size; i++) {
+
+				Entry folder = level.get(i);
+				folder.children = await(tasks.get(i));
+
+				for (Entry entry : folder.children) {
+					if (entry.directory && !entry.link) {
+						nextLevel.add(entry);
+					}
+				}
+			}
+
+			tasks.clear();
+			level = nextLevel;
+		}
+	}
+
+	private Array<Entry> listFolder(FileHandle folder) throws IOException {
+
+		Array<Entry> entries = new Array<>();
+
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder.file().toPath())) {
+
+			for (Path path : stream) {
+
+				String name = path.getFileName().toString();
+				boolean directory;
+				boolean link = false;
+
+				try {
+					BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+					directory = attributes.isDirectory();
+					if (directory && recursive) {
+						link = Files.isSymbolicLink(path);
+					}
+				} catch (IOException e) {
+					// e.g. broken symbolic links
+					directory = false;
+				}
+
+				Entry entry = new Entry(folder.child(name), name, directory);
+				entry.link = link;
+
+				entries.add(entry);
+			}
+		}
+
+		if (sorted) {
+			entries.sort(comparator);
+		}
+
+		return entries;
+	}
+
+	private void collect(Entry folder, Array<FileHandle> result) {
+
+		if (folder.children == null) {
+			return;
+		}
+
+		for (Entry entry : folder.children) {
+
+			if (accept(entry.name)) {
+				result.add(entry.file);
+			}
+
+			collect(entry, result);
+		}
+	}
+
+	private boolean accept(String name) {
+
+		if (suffix != null && !name.endsWith(suffix)) {
+			return false;
+		}
+
+		return glob == null || glob.matches(Paths.get(name));
+	}
+
+	private static <V> V await(FutureTask<V> task) throws IOException {
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while listing folders");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+
+	private static class Entry {
+
+		final FileHandle file;
+		final String name;
+		final boolean directory;
+		boolean link;
+
+		Array<Entry> children;
+
+		Entry(FileHandle file, String name, boolean directory) {
+			this.file = file;
+			this.name = name;
+			this.directory = directory;
+		}
+	}
+
+}
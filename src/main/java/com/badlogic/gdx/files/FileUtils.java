@@ -1,16 +1,16 @@
 package com.badlogic.gdx.files;
 
 import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.concurrent.ThreadLocalInstance;
 import com.badlogic.gdx.utils.Host;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Arrays;
 import java.util.Comparator;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.badlogic.gdx.utils.Host.OS.Linux;
 
@@ -35,24 +35,32 @@ public final class FileUtils {
 
 	/**
 	 * Wrapper to {@link FileHandle#list()} which also sorts the result.
+	 * <p>
+	 * Uses a {@link FileTreeWalker}, which reads file attributes only once per entry. Returns an empty array if
+	 * the folder can't be read.
 	 */
 	public static FileHandle[] list(FileHandle folder) {
-
-		FileHandle[] files = folder.list();
-		Arrays.sort(files, DEFAULT_COMPARATOR);
-
-		return files;
+		return list(new FileTreeWalker(), folder);
 	}
 
 	/**
 	 * Wrapper to {@link FileHandle#list(String)} which also sorts the result.
 	 */
 	public static FileHandle[] list(FileHandle folder, String suffix) {
+		return list(new FileTreeWalker().suffix(suffix), folder);
+	}
+
+	private static FileHandle[] list(FileTreeWalker walker, FileHandle folder) {
 
-		FileHandle[] files = folder.list(suffix);
-		Arrays.sort(files, DEFAULT_COMPARATOR);
+		if (!folder.isDirectory()) {
+			return new FileHandle[0];
+		}
 
-		return files;
+		try {
+			return walker.walk(folder).toArray();
+		} catch (IOException e) {
+			return new FileHandle[0];
+		}
 	}
 
 	/**
@@ -212,14 +220,205 @@ public final class FileUtils {
 	 * Normalizes the path of a file handle.
 	 * <p>
 	 * This does some hoops to work around some restrictions of the {@link FileHandle} class.
+	 *
+	 * @see FileUtils#normalizePath(String)
 	 */
 	public static FileHandle normalize(FileHandle file) {
 		return new FileHandleHelper(file).normalize();
 	}
 
-	private static class FileHandleHelper extends FileHandle {
+	/**
+	 * Normalizes a path string in a single pass:
+	 * - converts path separators to '/'
+	 * - removes "." segments, duplicate and trailing separators
+	 * - resolves ".." against the preceding segment, if there is one
+	 * - keeps the root, which is a leading separator, a drive prefix like "C:" or "C:/", or the
+	 * "//server/share" prefix of UNC paths, and drops ".." segments which would go past it
+	 * - returns "." if a relative path collapses to nothing
+	 * <p>
+	 * Results are cached, so repeated calls with the same path don't allocate. On a cache miss, only the cache
+	 * entry and, if the path needs to be rewritten, the result string are allocated. If the path is normalized
+	 * already, the same string instance is returned.
+	 */
+	public static String normalizePath(String path) {
+
+		String normalized = normalizedPaths.get(path);
+
+		if (normalized != null) {
+			return normalized;
+		}
+
+		normalized = PathNormalizer.instance.get().normalize(path);
+
+		if (normalizedPaths.size() >= NORMALIZED_PATHS_CACHE_SIZE) {
+			normalizedPaths.clear();
+		}
+
+		normalizedPaths.put(path, normalized);
+
+		return normalized;
+	}
+
+	private static final int NORMALIZED_PATHS_CACHE_SIZE = 4096;
+
+	private static final Map<String, String> normalizedPaths = new ConcurrentHashMap<>();
+
+	private static class PathNormalizer {
+
+		static final ThreadLocal<PathNormalizer> instance = new ThreadLocalInstance<>(PathNormalizer::new);
+
+		private char[] chars = new char[256];
+		private int[] segments = new int[64];
+
+		String normalize(String path) {
+
+			int length = path.length();
+
+			if (chars.length < length + 2) {
+				chars = new char[length + 2];
+			}
+
+			char[] chars = this.chars;
+
+			int n = 0;
+			int depth = 0;
+			int i = 0;
+
+			// copy the root, which ".." can't go past: a drive prefix, the leading separator, and the server and
+			// share names of UNC paths
+
+			if (length >= 2 && path.charAt(1) == ':' && isDriveLetter(path.charAt(0))) {
+				chars[n++] = path.charAt(0);
+				chars[n++] = ':';
+				i = 2;
+			}
+
+			int drive = n;
+
+			if (i < length && isSeparator(path.charAt(i))) {
+
+				chars[n++] = '/';
+				i++;
+
+				if (drive == 0 && i < length && isSeparator(path.charAt(i))) {
+
+					chars[n++] = '/';
+					i++;
+
+					for (int name = 0; name < 2; name++) {
+
+						while (i < length && isSeparator(path.charAt(i))) {
+							i++;
+						}
+
+						if (i == length) {
+							break;
+						}
+
+						int start = i;
+
+						while (i < length && !isSeparator(path.charAt(i))) {
+							i++;
+						}
+
+						if (name > 0) {
+							chars[n++] = '/';
+						}
+
+						path.getChars(start, i, chars, n);
+						n += i - start;
+					}
+				}
+			}
+
+			int root = n;
+			boolean absolute = root > drive;
+
+			while (i < length) {
+
+				if (isSeparator(path.charAt(i))) {
+					i++;
+					continue;
+				}
+
+				int start = i;
+
+				while (i < length && !isSeparator(path.charAt(i))) {
+					i++;
+				}
+
+				int segmentLength = i - start;
+
+				if (segmentLength == 1 && path.charAt(start) == '.') {
+					continue;
+				}
+
+				boolean parent = segmentLength == 2 && path.charAt(start) == '.' && path.charAt(start + 1) == '.';
+
+				if (parent) {
+
+					if (depth > 0) {
+						n = segments[--depth];
+						continue;
+					}
+
+					if (absolute) {
+						continue;
+					}
+				}
+
+				// append segment, remember its position unless it's an unresolved ".."
+
+				int segmentStart = n;
+
+				if (n > root || (absolute && chars[n - 1] != '/')) {
+					chars[n++] = '/';
+				}
+
+				path.getChars(start, i, chars, n);
+				n += segmentLength;
+
+				if (!parent) {
+					if (depth == segments.length) {
+						int[] grown = new int[depth * 2];
+						System.arraycopy(segments, 0, grown, 0, depth);
+						segments = grown;
+					}
+					segments[depth++] = segmentStart;
+				}
+			}
 
-		private static final Pattern relative = Pattern.compile("(/[a-zA-Z0-9\\-_]+/\\.\\.)");
+			if (n == length && matches(path, chars, n)) {
+				return path;
+			}
+
+			// relative path which collapsed to nothing
+			if (n == 0) {
+				return ".";
+			}
+
+			return new String(chars, 0, n);
+		}
+
+		private static boolean isSeparator(char c) {
+			return c == '/' || c == '\\';
+		}
+
+		private static boolean isDriveLetter(char c) {
+			return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+		}
+
+		private static boolean matches(String path, char[] chars, int length) {
+			for (int i = 0; i < length; i++) {
+				if (path.charAt(i) != chars[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private static class FileHandleHelper extends FileHandle {
 
 		FileHandleHelper(FileHandle file) {
 			super(file.file(), file.type());
@@ -234,18 +433,7 @@ public final class FileUtils {
 			if (path.startsWith("..")) {
 				throw new IllegalStateException();
 			}
-			// normalize path separators first
-			path = path.replaceAll("\\\\", "/");
-			// extract any "/<folder>/.."
-			for (;;) {
-				Matcher matcher = relative.matcher(path);
-				if (!matcher.find()) {
-					break;
-				}
-				String match = matcher.group(0);
-				path = path.replace(match, "");
-			}
-			file = new File(path);
+			file = new File(normalizePath(path));
 			return this;
 		}
 	}
@@ -0,0 +1,310 @@
+package com.badlogic.gdx.files;
+
+import com.badlogic.gdx.checksum.SHA1FileTable;
+import com.badlogic.gdx.function.Consumer;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxSnippets;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches a folder tree for changes.
+ * <p>
+ * A background thread receives events from a {@link WatchService}, registering new sub-folders as they appear. If
+ * the file system doesn't support native events, the thread falls back to polling modification times.
+ * <p>
+ * Changes are coalesced: a path is only reported by {@link FileWatcher#poll(Consumer)} once it hasn't changed
+ * again for the debounce interval. This is meant to be called periodically from the application thread, e.g. to
+ * mark entries of a {@link SHA1FileTable} for recheck.
+ * <p>
+ * Reported paths are resolved against the folder passed at construction, so they are relative if the folder is.
+ */
+public class FileWatcher implements Disposable {
+
+	private static final long POLL_INTERVAL_MILLIS = 1000;
+
+	private final Path root;
+	private final long debounceMillis;
+
+	private final WatchService service;
+	private final Map<WatchKey, Path> keys = new HashMap<>();
+	private final Map<Path, Long> modificationTimes = new HashMap<>();
+
+	private final Map<Path, Long> pending = new HashMap<>();
+	private final Array<File> settled = new Array<>();
+
+	private final Thread thread;
+	private volatile boolean running = true;
+
+	public FileWatcher(FileHandle folder, long debounceMillis) throws IOException {
+		this(folder, debounceMillis, false);
+	}
+
+	/**
+	 * @param forcePolling if true, modification times are polled even if native events are available
+	 */
+	public FileWatcher(FileHandle folder, long debounceMillis, boolean forcePolling) throws IOException {
+
+		root = folder.file().toPath();
+		this.debounceMillis = debounceMillis;
+
+		WatchService service = null;
+
+		if (!forcePolling) {
+			try {
+				service = root.getFileSystem().newWatchService();
+				registerAll(service, root, false);
+			} catch (IOException | UnsupportedOperationException e) {
+				GdxSnippets.log.warn("Native file events not available for {}, polling instead", root);
+				if (service != null) {
+					service.close();
+				}
+				service = null;
+				keys.clear();
+			}
+		}
+
+		this.service = service;
+
+		if (service == null) {
+			scan(false);
+		}
+
+		thread = new Thread(service != null ? this::watch : this::pollModificationTimes,
+				"FileWatcher-" + root.getFileName());
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Returns true if this instance polls for changes, instead of receiving native events.
+	 */
+	public boolean isPolling() {
+		return service == null;
+	}
+
+	/**
+	 * Passes each changed path to the consumer, if it hasn't changed again during the debounce interval.
+	 * <p>
+	 * This includes deleted files. Folders are not reported.
+	 */
+	public void poll(Consumer<File> consumer) {
+
+		long now = System.currentTimeMillis();
+
+		settled.clear();
+
+		synchronized (pending) {
+
+			Iterator<Map.Entry<Path, Long>> it = pending.entrySet().iterator();
+
+			while (it.hasNext()) {
+
+				Map.Entry<Path, Long> entry = it.next();
+
+				if (now - entry.getValue() >= debounceMillis) {
+					settled.add(entry.getKey().toFile());
+					it.remove();
+				}
+			}
+		}
+
+		for (int i = 0; i < settled.size; i++) {
+
+			File file = settled.get(i);
+
+			if (!file.isDirectory()) {
+				consumer.accept(file);
+			}
+		}
+
+		settled.clear();
+	}
+
+	/**
+	 * Marks each changed path in the table for recheck.
+	 *
+	 * @see SHA1FileTable#invalidateFile(File)
+	 */
+	public void poll(SHA1FileTable table) {
+		poll(table::invalidateFile);
+	}
+
+	@Override
+	public void dispose() {
+
+		running = false;
+
+		try {
+			if (service != null) {
+				service.close();
+			}
+		} catch (IOException e) {
+			GdxSnippets.log.error("Error closing watch service", e);
+		}
+
+		thread.interrupt();
+
+		try {
+			thread.join(2500);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void watch() {
+
+		while (running) {
+
+			WatchKey key;
+
+			try {
+				key = service.take();
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				break;
+			}
+
+			Path folder = keys.get(key);
+
+			for (WatchEvent<?> event : key.pollEvents()) {
+
+				if (event.kind() == OVERFLOW) {
+					// events have been lost, treat everything as changed
+					markAll(root);
+					continue;
+				}
+
+				Path path = folder != null ? folder.resolve((Path) event.context()) : null;
+
+				if (path == null) {
+					continue;
+				}
+
+				if (event.kind() == ENTRY_CREATE && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+					try {
+						// files may have been created before the folder got registered
+						registerAll(service, path, true);
+					} catch (IOException e) {
+						GdxSnippets.log.error("Error watching folder " + path, e);
+					}
+				} else {
+					mark(path);
+				}
+			}
+
+			if (!key.reset()) {
+				keys.remove(key);
+			}
+		}
+	}
+
+	private void pollModificationTimes() {
+
+		while (running) {
+
+			try {
+				Thread.sleep(POLL_INTERVAL_MILLIS);
+			} catch (InterruptedException e) {
+				break;
+			}
+
+			scan(true);
+		}
+	}
+
+	private void registerAll(WatchService service, Path folder, boolean markFiles) throws IOException {
+
+		Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+				WatchKey key = dir.register(service, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+				keys.put(key, dir);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+				if (markFiles) {
+					mark(file);
+				}
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	private void markAll(Path folder) {
+
+		try {
+			Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+					mark(file);
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (IOException e) {
+			GdxSnippets.log.error("Error scanning folder " + folder, e);
+		}
+	}
+
+	/**
+	 * Walks the folder tree, comparing modification times to those of the previous scan.
+	 */
+	private void scan(boolean markChanges) {
+
+		Map<Path, Long> previous = new HashMap<>(modificationTimes);
+		modificationTimes.clear();
+
+		try {
+			Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+
+					long modified = attrs.lastModifiedTime().toMillis();
+					modificationTimes.put(file, modified);
+
+					Long previousModified = previous.remove(file);
+
+					if (markChanges && (previousModified == null || previousModified != modified)) {
+						mark(file);
+					}
+
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException e) {
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (IOException e) {
+			GdxSnippets.log.error("Error scanning folder " + root, e);
+		}
+
+		// anything left has been deleted
+		if (markChanges) {
+			for (Path file : previous.keySet()) {
+				mark(file);
+			}
+		}
+	}
+
+	private void mark(Path path) {
+		synchronized (pending) {
+			pending.put(path, System.currentTimeMillis());
+		}
+	}
+
+}
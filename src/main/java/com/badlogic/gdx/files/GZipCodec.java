@@ -0,0 +1,75 @@
+package com.badlogic.gdx.files;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@link StreamCodec} for the GZIP format, with a selectable compression level, and larger buffers than the
+ * defaults of {@link GZIPInputStream} and {@link GZIPOutputStream}.
+ */
+public class GZipCodec implements StreamCodec {
+
+	public static final GZipCodec DEFAULT = new GZipCodec(Deflater.DEFAULT_COMPRESSION);
+	public static final GZipCodec BEST_SPEED = new GZipCodec(Deflater.BEST_SPEED);
+	public static final GZipCodec BEST_COMPRESSION = new GZipCodec(Deflater.BEST_COMPRESSION);
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final int level;
+
+	/**
+	 * @param level deflate compression level, from {@link Deflater#BEST_SPEED} to
+	 *              {@link Deflater#BEST_COMPRESSION}, or {@link Deflater#DEFAULT_COMPRESSION}
+	 */
+	public GZipCodec(int level) {
+
+		if ((level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION)
+				&& level != Deflater.DEFAULT_COMPRESSION) {
+			throw new IllegalArgumentException("Invalid compression level: " + level);
+		}
+
+		this.level = level;
+	}
+
+	@Override
+	public OutputStream encode(OutputStream out) throws IOException {
+		return new Output(out, level);
+	}
+
+	@Override
+	public InputStream decode(InputStream in) throws IOException {
+		return new GZIPInputStream(in, BUFFER_SIZE);
+	}
+
+	private static class Output extends GZIPOutputStream {
+
+		private boolean closed;
+
+		Output(OutputStream out, int level) throws IOException {
+			super(out, BUFFER_SIZE);
+			def.setLevel(level);
+		}
+
+		@Override
+		public void close() throws IOException {
+
+			if (closed) {
+				return;
+			}
+
+			closed = true;
+
+			try {
+				finish();
+				out.flush();
+			} finally {
+				def.end();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,486 @@
+package com.badlogic.gdx.files;
+
+import java.io.*;
+import java.util.Arrays;
+
+/**
+ * Fast {@link StreamCodec}, implemented in pure Java, which trades compression ratio for speed.
+ * <p>
+ * Data is split into blocks, which are compressed with the LZ4 block encoding: a greedy search for repeated
+ * sequences of at least four bytes, using a hash table, within a 64 KB window. There is no entropy coding, which
+ * makes both compression and decompression much faster than deflate.
+ * <p>
+ * The stream format is not compatible with the LZ4 frame format. It starts with the magic number "LZ4S", and the
+ * block size as a little-endian 32-bit integer, followed by blocks, each with a header of two little-endian 32-bit integers: the size of the compressed data,
+ * and the size of the decompressed data. If the highest bit of the compressed size is set, the block is stored
+ * uncompressed. A block with a compressed size of zero marks the end of the stream.
+ */
+public class LZ4Codec implements StreamCodec {
+
+	public static final LZ4Codec DEFAULT = new LZ4Codec(256 * 1024);
+
+	private static final int MAGIC = 0x53345a4c; // "LZ4S", little-endian
+	private static final int STORED = 0x80000000;
+
+	private static final int MIN_MATCH = 4;
+	private static final int MAX_OFFSET = 0xffff;
+	private static final int LAST_LITERALS = 5;
+	private static final int MATCH_FIND_LIMIT = 12;
+
+	private static final int HASH_BITS = 14;
+
+	private static final int MIN_BLOCK_SIZE = 1024;
+	private static final int MAX_BLOCK_SIZE = 16 * 1024 * 1024;
+
+	private final int blockSize;
+
+	/**
+	 * @param blockSize number of bytes compressed at once, larger blocks can improve the compression ratio
+	 */
+	public LZ4Codec(int blockSize) {
+
+		if (blockSize < MIN_BLOCK_SIZE || blockSize > MAX_BLOCK_SIZE) {
+			throw new IllegalArgumentException("Invalid block size: " + blockSize);
+		}
+
+		this.blockSize = blockSize;
+	}
+
+	@Override
+	public OutputStream encode(OutputStream out) throws IOException {
+		return new Output(out, blockSize);
+	}
+
+	@Override
+	public InputStream decode(InputStream in) throws IOException {
+		return new Input(in);
+	}
+
+	/**
+	 * Returns the maximum size of the compressed data for the given number of bytes.
+	 */
+	static int maxCompressedLength(int length) {
+		return length + length / 255 + 16;
+	}
+
+	/**
+	 * Compresses a block. Returns the number of bytes written to the target array, which must have at least
+	 * {@link LZ4Codec#maxCompressedLength(int)} bytes left after the offset.
+	 */
+	static int compress(byte[] src, int srcLength, byte[] dst, int dstOffset, int[] table) {
+
+		Arrays.fill(table, -1);
+
+		int ip = 0;
+		int anchor = 0;
+		int op = dstOffset;
+
+		int matchFindLimit = srcLength - MATCH_FIND_LIMIT;
+		int matchLimit = srcLength - LAST_LITERALS;
+
+		while (ip < matchFindLimit) {
+
+			int sequence = readInt(src, ip);
+			int hash = hash(sequence);
+			int ref = table[hash];
+
+			table[hash] = ip;
+
+			if (ref < 0 || ip - ref > MAX_OFFSET || readInt(src, ref) != sequence) {
+				ip++;
+				continue;
+			}
+
+			// extend the match backwards, into the pending literals
+			while (ip > anchor && ref > 0 && src[ip - 1] == src[ref - 1]) {
+				ip--;
+				ref--;
+			}
+
+			int matchLength = MIN_MATCH;
+			while (ip + matchLength < matchLimit && src[ip + matchLength] == src[ref + matchLength]) {
+				matchLength++;
+			}
+
+			op = writeSequence(src, anchor, ip - anchor, ip - ref, matchLength - MIN_MATCH, dst, op);
+
+			ip += matchLength;
+			anchor = ip;
+		}
+
+		return writeLastLiterals(src, anchor, srcLength - anchor, dst, op) - dstOffset;
+	}
+
+	/**
+	 * Decompresses a block. Returns the number of bytes written to the target array.
+	 */
+	static int decompress(byte[] src, int srcLength, byte[] dst, int dstLength) throws IOException {
+
+		int ip = 0;
+		int op = 0;
+
+		try {
+
+			for (;;) {
+
+				int token = src[ip++] & 0xff;
+
+				int literalLength = token >>> 4;
+				if (literalLength == 15) {
+					int b;
+					do {
+						b = src[ip++] & 0xff;
+						literalLength += b;
+					} while (b == 255);
+				}
+
+				if (op + literalLength > dstLength || ip + literalLength > srcLength) {
+					throw new IOException("Corrupted block: literals out of bounds");
+				}
+
+				System.arraycopy(src, ip, dst, op, literalLength);
+				ip += literalLength;
+				op += literalLength;
+
+				if (ip >= srcLength) {
+					return op;
+				}
+
+				int offset = (src[ip++] & 0xff) | ((src[ip++] & 0xff) << 8);
+
+				int matchLength = token & 0xf;
+				if (matchLength == 15) {
+					int b;
+					do {
+						b = src[ip++] & 0xff;
+						matchLength += b;
+					} while (b == 255);
+				}
+				matchLength += MIN_MATCH;
+
+				int ref = op - offset;
+
+				if (offset == 0 || ref < 0 || op + matchLength > dstLength) {
+					throw new IOException("Corrupted block: match out of bounds");
+				}
+
+				if (offset >= matchLength) {
+					System.arraycopy(dst, ref, dst, op, matchLength);
+					op += matchLength;
+				} else {
+					// overlapping match, copy byte by byte
+					for (int end = op + matchLength; op < end; ) {
+						dst[op++] = dst[ref++];
+					}
+				}
+			}
+
+		} catch (ArrayIndexOutOfBoundsException e) {
+			throw new IOException("Corrupted block: unexpected end of data", e);
+		}
+	}
+
+	private static int writeSequence(byte[] src, int literalStart, int literalLength, int offset, int matchLength,
+									 byte[] dst, int op) {
+
+		int tokenPos = op++;
+		int token = (Math.min(literalLength, 15) << 4) | Math.min(matchLength, 15);
+
+		if (literalLength >= 15) {
+			op = writeLength(literalLength - 15, dst, op);
+		}
+
+		System.arraycopy(src, literalStart, dst, op, literalLength);
+		op += literalLength;
+
+		dst[op++] = (byte) offset;
+		dst[op++] = (byte) (offset >>> 8);
+
+		if (matchLength >= 15) {
+			op = writeLength(matchLength - 15, dst, op);
+		}
+
+		dst[tokenPos] = (byte) token;
+
+		return op;
+	}
+
+	private static int writeLastLiterals(byte[] src, int literalStart, int literalLength, byte[] dst, int op) {
+
+		dst[op++] = (byte) (Math.min(literalLength, 15) << 4);
+
+		if (literalLength >= 15) {
+			op = writeLength(literalLength - 15, dst, op);
+		}
+
+		System.arraycopy(src, literalStart, dst, op, literalLength);
+
+		return op + literalLength;
+	}
+
+	private static int writeLength(int length, byte[] dst, int op) {
+
+		while (length >= 255) {
+			dst[op++] = (byte) 255;
+			length -= 255;
+		}
+
+		dst[op++] = (byte) length;
+
+		return op;
+	}
+
+	private static int hash(int sequence) {
+		return (sequence * -1640531535) >>> (32 - HASH_BITS);
+	}
+
+	private static int readInt(byte[] bytes, int offset) {
+		return (bytes[offset] & 0xff)
+				| ((bytes[offset + 1] & 0xff) << 8)
+				| ((bytes[offset + 2] & 0xff) << 16)
+				| ((bytes[offset + 3] & 0xff) << 24);
+	}
+
+	private static void writeInt(byte[] bytes, int offset, int value) {
+		bytes[offset] = (byte) value;
+		bytes[offset + 1] = (byte) (value >>> 8);
+		bytes[offset + 2] = (byte) (value >>> 16);
+		bytes[offset + 3] = (byte) (value >>> 24);
+	}
+
+	private static class Output extends OutputStream {
+
+		private final OutputStream out;
+
+		private final byte[] block;
+		private final byte[] compressed;
+		private final int[] table = new int[1 << HASH_BITS];
+
+		private int position;
+		private boolean closed;
+
+		Output(OutputStream out, int blockSize) throws IOException {
+
+			this.out = out;
+
+			block = new byte[blockSize];
+			compressed = new byte[8 + maxCompressedLength(blockSize)];
+
+			writeInt(compressed, 0, MAGIC);
+			writeInt(compressed, 4, blockSize);
+			out.write(compressed, 0, 8);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+
+			if (position == block.length) {
+				writeBlock();
+			}
+
+			block[position++] = (byte) b;
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int length) throws IOException {
+
+			while (length > 0) {
+
+				if (position == block.length) {
+					writeBlock();
+				}
+
+				int count = Math.min(length, block.length - position);
+				System.arraycopy(bytes, offset, block, position, count);
+
+				position += count;
+				offset += count;
+				length -= count;
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+
+			if (position > 0) {
+				writeBlock();
+			}
+
+			out.flush();
+		}
+
+		/**
+		 * Writes the end of stream marker, but doesn't close the target stream.
+		 */
+		@Override
+		public void close() throws IOException {
+
+			if (closed) {
+				return;
+			}
+
+			closed = true;
+
+			if (position > 0) {
+				writeBlock();
+			}
+
+			writeInt(compressed, 0, 0);
+			out.write(compressed, 0, 4);
+			out.flush();
+		}
+
+		private void writeBlock() throws IOException {
+
+			int length = compress(block, position, compressed, 8, table);
+
+			if (length >= position) {
+				// incompressible, store as is
+				writeInt(compressed, 0, position | STORED);
+				writeInt(compressed, 4, position);
+				out.write(compressed, 0, 8);
+				out.write(block, 0, position);
+			} else {
+				writeInt(compressed, 0, length);
+				writeInt(compressed, 4, position);
+				out.write(compressed, 0, 8 + length);
+			}
+
+			position = 0;
+		}
+	}
+
+	private static class Input extends InputStream {
+
+		private final InputStream in;
+
+		private final byte[] header = new byte[8];
+		private byte[] compressed = new byte[0];
+		private byte[] block = new byte[0];
+
+		private final int blockSize;
+
+		private int position;
+		private int limit;
+		private boolean finished;
+
+		Input(InputStream in) throws IOException {
+
+			this.in = in;
+
+			readFully(header, 8);
+
+			if (readInt(header, 0) != MAGIC) {
+				throw new IOException("Not in LZ4 stream format");
+			}
+
+			blockSize = readInt(header, 4);
+
+			if (blockSize < MIN_BLOCK_SIZE || blockSize > MAX_BLOCK_SIZE) {
+				throw new IOException("Invalid block size: " + blockSize);
+			}
+		}
+
+		@Override
+		public int read() throws IOException {
+
+			if (position == limit && !readBlock()) {
+				return -1;
+			}
+
+			return block[position++] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) throws IOException {
+
+			if (length == 0) {
+				return 0;
+			}
+
+			if (position == limit && !readBlock()) {
+				return -1;
+			}
+
+			int count = Math.min(length, limit - position);
+			System.arraycopy(block, position, bytes, offset, count);
+			position += count;
+
+			return count;
+		}
+
+		@Override
+		public int available() {
+			return limit - position;
+		}
+
+		@Override
+		public void close() throws IOException {
+			in.close();
+		}
+
+		private boolean readBlock() throws IOException {
+
+			if (finished) {
+				return false;
+			}
+
+			readFully(header, 4);
+
+			int compressedLength = readInt(header, 0);
+
+			if (compressedLength == 0) {
+				finished = true;
+				return false;
+			}
+
+			readFully(header, 4);
+
+			int length = readInt(header, 0);
+			boolean stored = (compressedLength & STORED) != 0;
+			compressedLength &= ~STORED;
+
+			// check lengths before allocating any memory for them
+			if (length <= 0 || length > blockSize
+					|| compressedLength > maxCompressedLength(length) || (stored && compressedLength != length)) {
+				throw new IOException("Corrupted block header");
+			}
+
+			if (block.length < length) {
+				block = new byte[length];
+			}
+
+			if (stored) {
+				readFully(block, length);
+			} else {
+				if (compressed.length < compressedLength) {
+					compressed = new byte[compressedLength];
+				}
+				readFully(compressed, compressedLength);
+				if (decompress(compressed, compressedLength, block, length) != length) {
+					throw new IOException("Corrupted block: size mismatch");
+				}
+			}
+
+			position = 0;
+			limit = length;
+
+			return true;
+		}
+
+		private void readFully(byte[] bytes, int length) throws IOException {
+
+			for (int offset = 0; offset < length; ) {
+
+				int count = in.read(bytes, offset, length - offset);
+
+				if (count < 0) {
+					throw new EOFException("Unexpected end of LZ4 stream");
+				}
+
+				offset += count;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,230 @@
+package com.badlogic.gdx.files;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.utils.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only, reference-counted view of a file's content in memory.
+ * <p>
+ * Files with a representation on disk are memory-mapped, giving zero-copy access to their content. Classpath
+ * files, and internal files which are not found on disk, are read once into a direct buffer instead.
+ * <p>
+ * Calls to {@link MappedFile#map(FileHandle)} for the same file share one mapping. Each call must be paired with
+ * a call to {@link MappedFile#dispose()}. Once the last reference is released, the memory is unmapped (or freed)
+ * immediately. Buffers obtained from this instance must not be used afterwards.
+ * <pre>
+ * {@code
+ * MappedFile mapped = MappedFile.map(file);
+ * try {
+ *     ByteBuffer buffer = mapped.buffer();
+ *     ...
+ * } finally {
+ *     mapped.dispose();
+ * }
+ * }
+ * </pre>
+ */
+public final class MappedFile implements Disposable {
+
+	private static final ObjectMap<String, MappedFile> mappedFiles = new ObjectMap<>();
+
+	private final String key;
+	private final FileHandle file;
+	private final ByteBuffer buffer;
+	private final boolean mapped;
+
+	private int references = 1;
+
+	private MappedFile(String key, FileHandle file, ByteBuffer buffer, boolean mapped) {
+		this.key = key;
+		this.file = file;
+		this.buffer = buffer;
+		this.mapped = mapped;
+	}
+
+	/**
+	 * Maps a file, or acquires another reference to an existing mapping of the same file.
+	 */
+	public static MappedFile map(FileHandle file) throws IOException {
+
+		String key = file.type() + ":" + file.file().getAbsolutePath();
+
+		synchronized (mappedFiles) {
+
+			MappedFile mappedFile = mappedFiles.get(key);
+
+			if (mappedFile != null) {
+				mappedFile.references++;
+				return mappedFile;
+			}
+
+			if (file.type() == FileType.Classpath || (file.type() == FileType.Internal && !file.file().exists())) {
+
+				byte[] bytes = file.readBytes();
+
+				ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+				buffer.put(bytes);
+				buffer.flip();
+
+				mappedFile = new MappedFile(key, file, buffer, false);
+
+			} else {
+
+				try (FileChannel channel = FileChannel.open(file.file().toPath(), StandardOpenOption.READ)) {
+
+					long size = channel.size();
+
+					if (size > Integer.MAX_VALUE) {
+						throw new IOException("File too large to be mapped: " + file.path());
+					}
+
+					ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+					mappedFile = new MappedFile(key, file, buffer, true);
+				}
+			}
+
+			mappedFiles.put(key, mappedFile);
+
+			return mappedFile;
+		}
+	}
+
+	/**
+	 * Acquires another reference to this mapping, which must be released with {@link MappedFile#dispose()}.
+	 */
+	public MappedFile retain() {
+
+		synchronized (mappedFiles) {
+
+			if (references == 0) {
+				throw new GdxRuntimeException("File has been unmapped already: " + file.path());
+			}
+
+			references++;
+		}
+
+		return this;
+	}
+
+	/**
+	 * Releases one reference. The memory is unmapped if this was the last one.
+	 */
+	@Override
+	public void dispose() {
+
+		synchronized (mappedFiles) {
+
+			if (references == 0) {
+				throw new GdxRuntimeException("File has been unmapped already: " + file.path());
+			}
+
+			if (--references > 0) {
+				return;
+			}
+
+			mappedFiles.remove(key);
+		}
+
+		if (buffer.capacity() > 0) {
+			Memory.freeDirect(buffer);
+		}
+	}
+
+	public FileHandle file() {
+		return file;
+	}
+
+	/**
+	 * Returns true if the file is memory-mapped, or false if its content has been copied to memory.
+	 */
+	public boolean isMapped() {
+		return mapped;
+	}
+
+	public int length() {
+		return buffer.capacity();
+	}
+
+	/**
+	 * Returns a read-only view of the whole file content, with independent position and limit.
+	 */
+	public ByteBuffer buffer() {
+		return buffer.asReadOnlyBuffer();
+	}
+
+	/**
+	 * Returns a read-only view of a region of the file content. The byte order of the view is set to
+	 * {@link ByteOrder#nativeOrder()}.
+	 */
+	public ByteBuffer slice(int offset, int length) {
+
+		if (offset < 0 || length < 0 || offset + length > buffer.capacity()) {
+			throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length);
+		}
+
+		ByteBuffer view = buffer.asReadOnlyBuffer();
+		view.position(offset);
+		view.limit(offset + length);
+
+		return view.slice().order(ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * Returns an {@link InputStream} reading from the file content, e.g. to pass it to parsers which
+	 * don't accept a {@link ByteBuffer}. The stream doesn't hold a reference to this mapping.
+	 */
+	public InputStream read() {
+		return new BufferInputStream(buffer());
+	}
+
+	private static class BufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		BufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+
+			if (length == 0) {
+				return 0;
+			}
+
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+
+			int n = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, n);
+
+			return n;
+		}
+
+		@Override
+		public long skip(long n) {
+			int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+			buffer.position(buffer.position() + skipped);
+			return skipped;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+
+}
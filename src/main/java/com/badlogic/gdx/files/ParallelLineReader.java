@@ -0,0 +1,229 @@
+package com.badlogic.gdx.files;
+
+import com.badlogic.gdx.concurrent.AsyncTaskExecutor;
+import com.badlogic.gdx.function.ThrowableConsumer;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Splits a text file at line boundaries, and scans the resulting chunks in parallel.
+ * <p>
+ * This is used internally by {@link TextFileUtils}.
+ */
+final class ParallelLineReader {
+
+	static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+	private final FileHandle file;
+	private final Pattern[] patterns;
+	private final Charset charset;
+	private final boolean ordered;
+	private final ThrowableConsumer<String, IOException> consumer;
+
+	/**
+	 * Index of the first chunk which failed. Chunks after this one are skipped.
+	 */
+	private final AtomicInteger failedChunk = new AtomicInteger(Integer.MAX_VALUE);
+
+	ParallelLineReader(FileHandle file, String[] patterns, boolean ordered,
+					   ThrowableConsumer<String, IOException> consumer) {
+
+		this.file = file;
+		this.patterns = TextLineScanner.compile(patterns);
+		this.charset = Charset.defaultCharset();
+		this.ordered = ordered;
+		this.consumer = consumer;
+	}
+
+	void read(AsyncTaskExecutor executor, int chunkSize) throws IOException {
+
+		try (FileChannel channel = FileChannel.open(file.file().toPath(), StandardOpenOption.READ)) {
+
+			Array<FutureTask<Chunk>> tasks = new Array<>();
+
+			long size = channel.size();
+			long offset = 0;
+
+			// limit the number of chunks in flight, each one may hold all of its lines in memory
+			int window = 2 * executor.getThreadCount();
+
+			while (offset < size && tasks.size < window) {
+				offset = submit(executor, channel, tasks, offset, size, chunkSize);
+			}
+
+			// collect results in order, so that line numbers add up, and submit the next chunk for each one done
+
+			int lineBase = 0;
+			IOException error = null;
+
+			for (int i = 0; i < tasks.size; i++) {
+
+				Chunk chunk = await(tasks.get(i));
+
+				if (error == null) {
+
+					if (chunk.error != null) {
+
+						error = new IOException("Error reading " + file.path()
+								+ " at line #" + (lineBase + chunk.errorLine), chunk.error);
+
+					} else if (ordered) {
+
+						for (int j = 0; j < chunk.lines.size; j++) {
+							try {
+								consumer.accept(chunk.lines.get(j));
+							} catch (IOException e) {
+								failedChunk.set(i);
+								error = new IOException("Error reading " + file.path()
+										+ " at line #" + (lineBase + chunk.lineNumbers.get(j)), e);
+								break;
+							}
+						}
+					}
+				}
+
+				lineBase += chunk.lineCount;
+				tasks.set(i, null);
+
+				if (error == null && offset < size) {
+					offset = submit(executor, channel, tasks, offset, size, chunkSize);
+				}
+			}
+
+			if (error != null) {
+				throw error;
+			}
+		}
+	}
+
+	/**
+	 * Submits a job for the next chunk, and returns the file position at which the chunk ends.
+	 */
+	private long submit(AsyncTaskExecutor executor, FileChannel channel, Array<FutureTask<Chunk>> tasks,
+						long offset, long size, int chunkSize) throws IOException {
+
+		long end = findLineEnd(channel, Math.min(offset + chunkSize, size), size);
+
+		if (end - offset > Integer.MAX_VALUE) {
+			throw new IOException("Error reading " + file.path() + ": line too long");
+		}
+
+		FutureTask<Chunk> task = new FutureTask<>(new Chunk(channel, tasks.size, offset, end - offset));
+		executor.executeJob(task);
+		tasks.add(task);
+
+		return end;
+	}
+
+	/**
+	 * Returns the file position right after the first line feed found at, or after the given position.
+	 */
+	private static long findLineEnd(FileChannel channel, long position, long size) throws IOException {
+
+		ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+		while (position < size) {
+
+			buffer.clear();
+			int n = channel.read(buffer, position);
+
+			if (n <= 0) {
+				break;
+			}
+
+			for (int i = 0; i < n; i++) {
+				if (buffer.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
+
+			position += n;
+		}
+
+		return size;
+	}
+
+	private static <V> V await(FutureTask<V> task) throws IOException {
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for chunk");
+		} catch (ExecutionException e) {
+			throw new IOException(e.getCause());
+		}
+	}
+
+	private class Chunk implements Callable<Chunk> {
+
+		final FileChannel channel;
+		final int index;
+		final long offset;
+		final long length;
+
+		int lineCount;
+		Array<String> lines;
+		IntArray lineNumbers;
+
+		Exception error;
+		int errorLine;
+
+		Chunk(FileChannel channel, int index, long offset, long length) {
+			this.channel = channel;
+			this.index = index;
+			this.offset = offset;
+			this.length = length;
+		}
+
+		@Override
+		public Chunk call() throws Exception {
+
+			if (index > failedChunk.get()) {
+				return this;
+			}
+
+			if (ordered) {
+				lines = new Array<>();
+				lineNumbers = new IntArray();
+			}
+
+			TextLineScanner scanner = new TextLineScanner(patterns, charset);
+
+			try {
+
+				ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+
+				scanner.scan(buffer, line -> {
+					if (ordered) {
+						lines.add(line.toString());
+						lineNumbers.add(scanner.getLineNumber());
+					} else {
+						consumer.accept(line.toString());
+					}
+				});
+
+			} catch (IOException | RuntimeException e) {
+				error = e;
+				errorLine = scanner.getLineNumber();
+				failedChunk.accumulateAndGet(index, Math::min);
+			}
+
+			lineCount = scanner.getLineNumber();
+
+			return this;
+		}
+	}
+
+}
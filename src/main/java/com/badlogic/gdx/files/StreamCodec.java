@@ -0,0 +1,26 @@
+package com.badlogic.gdx.files;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Encoding, e.g. compression, applied to a stream of bytes.
+ *
+ * @see GZipCodec
+ * @see LZ4Codec
+ */
+public interface StreamCodec {
+
+	/**
+	 * Wraps a stream to write encoded data to. Closing the returned stream finishes the encoding, but does not
+	 * close the target stream. This allows to commit an {@link AtomicFileOutputStream} afterwards.
+	 */
+	OutputStream encode(OutputStream out) throws IOException;
+
+	/**
+	 * Wraps a stream to read encoded data from. Closing the returned stream closes the source stream.
+	 */
+	InputStream decode(InputStream in) throws IOException;
+
+}
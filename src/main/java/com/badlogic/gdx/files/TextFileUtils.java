@@ -1,11 +1,14 @@
 package com.badlogic.gdx.files;
 
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.concurrent.AsyncTaskExecutor;
 import com.badlogic.gdx.function.ThrowableConsumer;
 import com.badlogic.gdx.utils.*;
 import com.badlogic.gdx.utils.StringBuilder;
 
 import java.io.*;
-import java.util.regex.Pattern;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
 
 public class TextFileUtils {
 
@@ -25,45 +28,71 @@ public class TextFileUtils {
 	public static void readLines(FileHandle file, String[] patterns,
 								 ThrowableConsumer<String, IOException> consumer) throws IOException {
 
-		Pattern[] p = null;
-		int lineNo = 0;
-
-		if (!ArrayUtils.isNullOrEmpty(patterns)) {
-			p = new Pattern[patterns.length];
-			for (int i = 0; i < patterns.length; i++) {
-				p[i] = Pattern.compile(patterns[i]);
-			}
-		}
-
-		try (BufferedReader reader = new BufferedReader(file.reader())) {
+		scanLines(file, patterns, line -> consumer.accept(line.toString()));
+	}
 
-			String line;
-			while ((line = reader.readLine()) != null) {
+	/**
+	 * Version of {@link TextFileUtils#readLines(FileHandle, String[], ThrowableConsumer)} which passes each line
+	 * as a {@link CharSequence}, without creating a {@link String} for it.
+	 * <p>
+	 * The character sequence is only valid for the duration of the consumer call.
+	 *
+	 * @see TextLineScanner
+	 */
+	public static void scanLines(FileHandle file, String[] patterns,
+								 ThrowableConsumer<CharSequence, IOException> consumer) throws IOException {
 
-				lineNo++;
+		scanLines(file, new TextLineScanner(patterns), consumer);
+	}
 
-				if (p == null) {
-					consumer.accept(line);
-				} else {
-					for (int i = 0; i < patterns.length; i++) {
-						if (p[i].matcher(line).matches()) {
-							consumer.accept(line);
-							break;
-						}
-					}
-				}
-			}
+	/**
+	 * Version of {@link TextFileUtils#scanLines(FileHandle, String[], ThrowableConsumer)} which re-uses an
+	 * existing {@link TextLineScanner}, e.g. to apply the same set of patterns to multiple files.
+	 */
+	public static void scanLines(FileHandle file, TextLineScanner scanner,
+								 ThrowableConsumer<CharSequence, IOException> consumer) throws IOException {
 
+		try (ReadableByteChannel channel = FileStreamReader.openChannel(file)) {
+			scanner.scan(channel, consumer);
 		} catch (IOException e) {
-			throw new IOException("Error reading " + file.path() + " at line #" + lineNo, e);
+			throw new IOException("Error reading " + file.path() + " at line #" + scanner.getLineNumber(), e);
+		}
+	}
+
+	/**
+	 * Parallel version of {@link TextFileUtils#readLines(FileHandle, String[], ThrowableConsumer)}, intended for
+	 * very large files.
+	 * <p>
+	 * The file is split into chunks at line boundaries, which are memory-mapped and scanned by jobs scheduled to
+	 * the {@link AsyncTaskExecutor}. The file's charset must encode line feeds as single bytes, which is true for
+	 * UTF-8 and any ASCII-compatible encoding.
+	 * <p>
+	 * If ordered == true, lines are passed to the consumer on the calling thread, in the same order as they appear
+	 * in the file. Otherwise the consumer is called concurrently from the executor's worker threads, and must be
+	 * thread-safe.
+	 * <p>
+	 * This function blocks until all chunks are processed, so it must not be called from one of the executor's
+	 * worker threads. Files which are not located on disk, or a null executor, fall back to sequential reading.
+	 */
+	public static void readLinesParallel(FileHandle file, String[] patterns,
+										 AsyncTaskExecutor executor, boolean ordered,
+										 ThrowableConsumer<String, IOException> consumer) throws IOException {
+
+		if (executor == null || file.type() == FileType.Classpath
+				|| (file.type() == FileType.Internal && !file.file().exists())) {
+			readLines(file, patterns, consumer);
+			return;
 		}
+
+		new ParallelLineReader(file, patterns, ordered, consumer)
+				.read(executor, ParallelLineReader.DEFAULT_CHUNK_SIZE);
 	}
 
 	public static String readString(FileHandle file) throws IOException {
 
 		StringBuilder builder = new StringBuilder((int) file.length());
 
-		readLines(file, line -> {
+		scanLines(file, (String[]) null, line -> {
 
 			if (builder.length() > 0) {
 				builder.append('\n');
@@ -75,25 +104,31 @@ public class TextFileUtils {
 		return builder.toString();
 	}
 
+	/**
+	 * Writes text to a file, translating line terminators to the ones of the host platform. A single trailing
+	 * line terminator is omitted.
+	 * <p>
+	 * The file is replaced atomically, see {@link AtomicFileWriter}.
+	 */
 	public static void writeString(FileHandle file, String text) throws IOException {
 
-		StringBuilder builder = new StringBuilder(text.length());
-		String newLine = Host.os != Host.OS.Windows ? "\n" : "\r\n";
-
-		try (BufferedReader reader = new BufferedReader(new StringReader(text))) {
-
-			String line;
-			while ((line = reader.readLine()) != null) {
+		int length = text.length();
 
-				if (builder.length() > 0) {
-					builder.append(newLine);
-				}
-
-				builder.append(line);
+		if (length > 0 && text.charAt(length - 1) == '\n') {
+			length--;
+			if (length > 0 && text.charAt(length - 1) == '\r') {
+				length--;
 			}
+		} else if (length > 0 && text.charAt(length - 1) == '\r') {
+			length--;
 		}
 
-		file.writeString(builder.toString(), false);
+		try (AtomicFileWriter writer = new AtomicFileWriter(file, Charset.defaultCharset(),
+				AtomicFileWriter.PLATFORM_NEWLINE)) {
+
+			writer.write(text, 0, length);
+			writer.commit();
+		}
 	}
 
 }
@@ -0,0 +1,353 @@
+package com.badlogic.gdx.files;
+
+import com.badlogic.gdx.function.ThrowableConsumer;
+import com.badlogic.gdx.utils.ArrayUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into lines, without allocating a {@link String} per line.
+ * <p>
+ * Bytes are decoded into a re-used char buffer. Each line is passed to the consumer as a {@link CharSequence}
+ * view into this buffer, which is only valid for the duration of the call. Line terminators are the same as
+ * with {@link java.io.BufferedReader#readLine()}.
+ * <p>
+ * Lines can optionally be filtered by a set of RegEx patterns. A line is passed to the consumer only if (at least)
+ * one of the patterns matches. The {@link Matcher} instances are created once, and re-used for each line. Patterns
+ * which start with a literal prefix are pre-filtered, skipping the RegEx engine for lines not starting with it.
+ * <p>
+ * Instances of this class are not thread-safe, but can be re-used to scan multiple inputs.
+ */
+public class TextLineScanner {
+
+	private static final int BYTE_BUFFER_SIZE = 64 * 1024;
+	private static final int CHAR_BUFFER_SIZE = 16 * 1024;
+
+	private final Matcher[] matchers;
+	private final String[] prefixes;
+
+	private final CharsetDecoder decoder;
+	private final ByteBuffer bytes = ByteBuffer.allocate(BYTE_BUFFER_SIZE);
+	private CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+
+	private final Line line = new Line();
+	private boolean skipLF;
+	private int lineNo;
+
+	public TextLineScanner() {
+		this((Pattern[]) null, Charset.defaultCharset());
+	}
+
+	public TextLineScanner(String[] patterns) {
+		this(compile(patterns), Charset.defaultCharset());
+	}
+
+	public TextLineScanner(Pattern[] patterns, Charset charset) {
+
+		if (ArrayUtils.isNullOrEmpty(patterns)) {
+			matchers = null;
+			prefixes = null;
+		} else {
+			matchers = new Matcher[patterns.length];
+			prefixes = new String[patterns.length];
+			for (int i = 0; i < patterns.length; i++) {
+				matchers[i] = patterns[i].matcher("");
+				prefixes[i] = literalPrefix(patterns[i]);
+			}
+		}
+
+		decoder = charset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	/**
+	 * Returns the number of lines scanned so far, including lines skipped by the pattern filter.
+	 * <p>
+	 * This is reset at the begin of each scan, and can be used to report errors.
+	 */
+	public int getLineNumber() {
+		return lineNo;
+	}
+
+	/**
+	 * Scans text read from a channel. The channel is not closed by this function.
+	 */
+	public void scan(ReadableByteChannel channel,
+					 ThrowableConsumer<CharSequence, IOException> consumer) throws IOException {
+
+		begin();
+
+		ByteBuffer bytes = this.bytes;
+		bytes.clear();
+
+		while (channel.read(bytes) >= 0) {
+			bytes.flip();
+			decode(bytes, false, consumer);
+			bytes.compact();
+		}
+
+		bytes.flip();
+		decode(bytes, true, consumer);
+
+		end(consumer);
+	}
+
+	/**
+	 * Scans text stored in a buffer, between {@link ByteBuffer#position()} and {@link ByteBuffer#limit()}.
+	 * <p>
+	 * The state of the buffer passed is not modified.
+	 */
+	public void scan(ByteBuffer buffer,
+					 ThrowableConsumer<CharSequence, IOException> consumer) throws IOException {
+
+		begin();
+		decode(buffer.duplicate(), true, consumer);
+		end(consumer);
+	}
+
+	private void begin() {
+		decoder.reset();
+		chars.clear();
+		skipLF = false;
+		lineNo = 0;
+	}
+
+	private void end(ThrowableConsumer<CharSequence, IOException> consumer) throws IOException {
+
+		CoderResult result;
+
+		do {
+			result = decoder.flush(chars);
+			scanLines(consumer);
+		} while (result.isOverflow());
+
+		// last line, if not terminated
+		if (chars.position() > 0) {
+			emit(chars.array(), 0, chars.position(), consumer);
+			chars.clear();
+		}
+	}
+
+	private void decode(ByteBuffer in, boolean endOfInput,
+						ThrowableConsumer<CharSequence, IOException> consumer) throws IOException {
+
+		CoderResult result;
+
+		do {
+
+			result = decoder.decode(in, chars, endOfInput);
+
+			if (result.isError()) {
+				result.throwException();
+			}
+
+			scanLines(consumer);
+
+		} while (result.isOverflow());
+	}
+
+	/**
+	 * Emits all complete lines in the char buffer, then moves the remaining characters to its front.
+	 */
+	private void scanLines(ThrowableConsumer<CharSequence, IOException> consumer) throws IOException {
+
+		char[] array = chars.array();
+		int end = chars.position();
+
+		int start = 0;
+		int i = 0;
+
+		if (skipLF && end > 0) {
+			skipLF = false;
+			if (array[0] == '\n') {
+				start = i = 1;
+			}
+		}
+
+		while (i < end) {
+
+			char c = array[i++];
+
+			if (c != '\n' && c != '\r') {
+				continue;
+			}
+
+			emit(array, start, i - 1 - start, consumer);
+
+			if (c == '\r') {
+				if (i < end) {
+					if (array[i] == '\n') {
+						i++;
+					}
+				} else {
+					skipLF = true;
+				}
+			}
+
+			start = i;
+		}
+
+		int remaining = end - start;
+
+		if (start == 0 && remaining == chars.capacity()) {
+
+			// line doesn't fit, grow buffer
+			CharBuffer grown = CharBuffer.allocate(chars.capacity() * 2);
+			grown.put(array, 0, remaining);
+			chars = grown;
+
+		} else {
+
+			System.arraycopy(array, start, array, 0, remaining);
+			chars.clear();
+			chars.position(remaining);
+		}
+	}
+
+	private void emit(char[] array, int offset, int length,
+					  ThrowableConsumer<CharSequence, IOException> consumer) throws IOException {
+
+		lineNo++;
+
+		line.set(array, offset, length);
+
+		if (accept(line)) {
+			consumer.accept(line);
+		}
+	}
+
+	private boolean accept(Line line) {
+
+		if (matchers == null) {
+			return true;
+		}
+
+		for (int i = 0; i < matchers.length; i++) {
+
+			String prefix = prefixes[i];
+
+			if (prefix != null && !line.startsWith(prefix)) {
+				continue;
+			}
+
+			if (matchers[i].reset(line).matches()) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	static Pattern[] compile(String[] patterns) {
+
+		if (ArrayUtils.isNullOrEmpty(patterns)) {
+			return null;
+		}
+
+		Pattern[] p = new Pattern[patterns.length];
+
+		for (int i = 0; i < patterns.length; i++) {
+			p[i] = Pattern.compile(patterns[i]);
+		}
+
+		return p;
+	}
+
+	/**
+	 * Returns the sequence of literal characters a pattern starts with, or null if there is none. This is
+	 * conservative, e.g. it gives up on any pattern using alternations.
+	 */
+	private static String literalPrefix(Pattern pattern) {
+
+		if (pattern.flags() != 0) {
+			return null;
+		}
+
+		String regex = pattern.pattern();
+
+		if (regex.indexOf('|') >= 0) {
+			return null;
+		}
+
+		int length = regex.length();
+		int i = regex.startsWith("^") ? 1 : 0;
+		int start = i;
+
+		while (i < length && "\\[](){}.*+?^$".indexOf(regex.charAt(i)) < 0) {
+			i++;
+		}
+
+		int end = i;
+
+		// the last literal is optional if it's followed by one of these quantifiers
+		if (i < length && "*?{".indexOf(regex.charAt(i)) >= 0) {
+			end--;
+		}
+
+		return end > start ? regex.substring(start, end) : null;
+	}
+
+	private static final class Line implements CharSequence {
+
+		private char[] array;
+		private int offset;
+		private int length;
+
+		void set(char[] array, int offset, int length) {
+			this.array = array;
+			this.offset = offset;
+			this.length = length;
+		}
+
+		boolean startsWith(String prefix) {
+
+			int n = prefix.length();
+
+			if (n > length) {
+				return false;
+			}
+
+			for (int i = 0; i < n; i++) {
+				if (array[offset + i] != prefix.charAt(i)) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		@Override
+		public int length() {
+			return length;
+		}
+
+		@Override
+		public char charAt(int index) {
+			if (index < 0 || index >= length) {
+				throw new IndexOutOfBoundsException("index: " + index + ", length: " + length);
+			}
+			return array[offset + index];
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			if (start < 0 || end > length || start > end) {
+				throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + length);
+			}
+			return new String(array, offset + start, end - start);
+		}
+
+		@Override
+		public String toString() {
+			return new String(array, offset, length);
+		}
+	}
+
+}
@@ -4,6 +4,8 @@ import com.badlogic.gdx.function.IntPredicate;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.Memory;
 
 import java.nio.ByteBuffer;
 
@@ -179,7 +181,8 @@ public class PixmapUtils {
 	}
 
 	/**
-	 * Vertically mirrors the {@link Pixmap} content, in place, line by line.
+	 * Vertically mirrors the {@link Pixmap} content, in place, line by line. Lines are swapped with native
+	 * memory copies, through a single line of scratch memory.
 	 */
 	public static void flipY(Pixmap pixmap) {
 
@@ -189,22 +192,22 @@ public class PixmapUtils {
 		int pitch = width * getPixelStride(pixmap.getFormat());
 
 		ByteBuffer pixels = pixmap.getPixels();
+		ByteBuffer line = BufferUtils.newUnsafeByteBuffer(pitch);
 
-		byte[][] buffer = new byte[2][pitch];
+		try {
 
-		for (int y = 0; y < height / 2; y++) {
+			for (int y = 0; y < height / 2; y++) {
 
-			pixels.position(y * pitch);
-			pixels.get(buffer[0], 0, pitch);
-
-			pixels.position((height - y - 1) * pitch);
-			pixels.get(buffer[1], 0, pitch);
+				int top = y * pitch;
+				int bottom = (height - y - 1) * pitch;
 
-			pixels.position(y * pitch);
-			pixels.put(buffer[1], 0, pitch);
+				Memory.memcpyDirect(pixels, top, line, 0, pitch);
+				Memory.memcpyDirect(pixels, bottom, pixels, top, pitch);
+				Memory.memcpyDirect(line, 0, pixels, bottom, pitch);
+			}
 
-			pixels.position((height - y - 1) * pitch);
-			pixels.put(buffer[0], 0, pitch);
+		} finally {
+			BufferUtils.disposeUnsafeByteBuffer(line);
 		}
 
 		pixels.position(0);
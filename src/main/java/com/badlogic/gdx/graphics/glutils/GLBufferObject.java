@@ -2,6 +2,7 @@ package com.badlogic.gdx.graphics.glutils;
 
 import com.badlogic.gdx.utils.BufferUtils;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Memory;
 
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
@@ -59,6 +60,19 @@ abstract class GLBufferObject<T extends Buffer> implements Disposable {
 		gl20.glBufferData(target, byteBuffer.limit(), byteBuffer, usage);
 	}
 
+	/**
+	 * Replaces the buffer content with elements copied from a direct buffer, without a round trip through a
+	 * Java array. The source offset is in bytes.
+	 */
+	public void setElements(ByteBuffer source, int sourceOffset, int numElements) {
+
+		int numBytes = numElements * elementSize;
+		Memory.memcpyDirect(source, sourceOffset, byteBuffer, 0, numBytes);
+
+		buffer.position(numBytes / wordSize);
+		buffer.limit(buffer.capacity());
+	}
+
 	/* TODO: proper API to specify buffer slice
 	public void uploadSubData(int firstElement, int numElements) {
 		gl20.glBufferSubData(target, firstElement * elementSize, numElements * elementSize, byteBuffer);
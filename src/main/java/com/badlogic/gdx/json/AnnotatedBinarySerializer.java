@@ -0,0 +1,574 @@
+package com.badlogic.gdx.json;
+
+import com.badlogic.gdx.json.annotations.*;
+import com.badlogic.gdx.utils.*;
+import com.badlogic.gdx.utils.reflect.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+
+import static com.badlogic.gdx.json.BinaryFormat.*;
+
+/**
+ * Serializes a hierarchy of objects annotated with {@link JsonSerializable} and {@link JsonSerialize} to a
+ * compact binary format, using the same annotations as {@link AnnotatedJsonSerializer}.
+ * <p>
+ * Numbers are stored as varints, or as raw IEEE-754 values, which makes {@link JsonSerializable#encodeFP()}
+ * obsolete. Field and class names are stored once per document, then referenced by index. Fields unknown to
+ * the reader are skipped, so data stays readable after fields are added or removed.
+ * <p>
+ * The same rules as with JSON apply for default values, null values and empty containers. Values of types which
+ * aren't annotated, and are no primitives, strings, enums or arrays of those, are embedded as JSON text using
+ * the {@link Json} instance passed. This means that any object hierarchy can be read from JSON and written to
+ * the binary format, and vice versa.
+ * <p>
+ * Instances of this class are not thread-safe.
+ *
+ * @see BinaryFormat
+ */
+public class AnnotatedBinarySerializer {
+
+	private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	private final Json json;
+
+	private BinaryWriter writer;
+	private BinaryReader reader;
+
+	/**
+	 * @param json used for values which can't be encoded in binary format
+	 */
+	public AnnotatedBinarySerializer(Json json) {
+		this.json = json;
+	}
+
+	/**
+	 * Serializes the object to a new heap buffer, which is ready to be read from.
+	 */
+	public ByteBuffer write(Object object) {
+
+		ByteBuffer buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+
+		writer = new BinaryWriter(buffer.order(ByteOrder.LITTLE_ENDIAN), true);
+
+		try {
+			writeDocument(object);
+			buffer = writer.buffer();
+		} finally {
+			writer = null;
+		}
+
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Serializes the object to the given buffer, starting at its current position.
+	 *
+	 * @throws BufferOverflowException if the buffer is too small
+	 */
+	public void write(ByteBuffer buffer, Object object) throws BufferOverflowException {
+
+		ByteOrder order = buffer.order();
+		writer = new BinaryWriter(buffer.order(ByteOrder.LITTLE_ENDIAN), false);
+
+		try {
+			writeDocument(object);
+		} finally {
+			buffer.order(order);
+			writer = null;
+		}
+	}
+
+	/**
+	 * Deserializes an object from the given buffer, starting at its current position.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T read(ByteBuffer buffer, Class<T> clazz) {
+
+		ByteOrder order = buffer.order();
+		reader = new BinaryReader(buffer.order(ByteOrder.LITTLE_ENDIAN));
+
+		try {
+
+			if (buffer.order(ByteOrder.BIG_ENDIAN).getInt() != MAGIC) {
+				throw new GdxRuntimeException("Invalid header, not a binary document");
+			}
+
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+			return (T) readValue(reader.readTag(), clazz, null);
+
+		} finally {
+			buffer.order(order);
+			reader = null;
+		}
+	}
+
+	private void writeDocument(Object object) {
+
+		ByteBuffer buffer = writer.buffer();
+
+		if (buffer.remaining() < 4) {
+			throw new BufferOverflowException();
+		}
+
+		buffer.order(ByteOrder.BIG_ENDIAN).putInt(MAGIC);
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+		writeValue(object, object != null ? object.getClass() : Object.class, null);
+	}
+
+	private void writeValue(Object value, Class<?> knownType, Class<?> elementType) {
+
+		if (value == null) {
+			writer.writeTag(NULL);
+			return;
+		}
+
+		Class<?> type = value.getClass();
+
+		if (type == String.class) {
+			writer.writeString((String) value);
+		} else if (type == Integer.class || type == Short.class || type == Byte.class) {
+			writer.writeInt(((Number) value).intValue());
+		} else if (type == Float.class) {
+			writer.writeFloat((Float) value);
+		} else if (type == Double.class) {
+			writer.writeDouble((Double) value);
+		} else if (type == Boolean.class) {
+			writer.writeBoolean((Boolean) value);
+		} else if (type == Long.class) {
+			writer.writeLong((Long) value);
+		} else if (type == Character.class) {
+			writer.writeInt((Character) value);
+		} else if (value instanceof Enum) {
+			writer.writeString(((Enum<?>) value).name());
+		} else if (type == float[].class) {
+			writer.writeFloats((float[]) value);
+		} else if (type == double[].class) {
+			writer.writeDoubles((double[]) value);
+		} else if (type == byte[].class) {
+			writer.writeBytes((byte[]) value);
+		} else if (type.isArray()) {
+			Class<?> componentType = type.getComponentType();
+			int length = java.lang.reflect.Array.getLength(value);
+			writer.writeTag(ARRAY);
+			writer.writeVarInt(length);
+			for (int i = 0; i < length; i++) {
+				writeValue(java.lang.reflect.Array.get(value, i), componentType, null);
+			}
+		} else {
+			ClassLayout layout = ClassLayout.of(type);
+			if (layout != null) {
+				writeObject(value, layout);
+			} else {
+				writer.writeJson(json.toJson(value, knownType, elementType));
+			}
+		}
+	}
+
+	private void writeObject(Object object, ClassLayout layout) {
+
+		if (layout.callbacks) {
+			((AnnotatedJsonObject) object).onJsonWrite();
+		}
+
+		if (layout.annotation.dynamic()) {
+			writer.writeTag(TYPED_OBJECT);
+			writer.writeName(layout.clazz.getName());
+		} else {
+			writer.writeTag(OBJECT);
+		}
+
+		for (ClassLayout.FieldLayout field : layout.fields) {
+			writeField(object, field, layout.annotation);
+		}
+
+		writer.writeEndOfObject();
+	}
+
+	private void writeField(Object object, ClassLayout.FieldLayout field, JsonSerializable annotation) {
+
+		Class<?> type = field.type;
+		FieldAccessor accessor = field.accessor;
+		JsonSerialize fieldAnnotation = field.annotation;
+
+		if (type == int.class) {
+			int value = accessor.getInt(object);
+			if (fieldAnnotation.writeIfDefaultValue() || value != fieldAnnotation.defaultIntValue()) {
+				writer.writeName(field.name);
+				writer.writeInt(value);
+			}
+		} else if (type == float.class) {
+			float value = accessor.getFloat(object);
+			if (fieldAnnotation.writeIfDefaultValue() || value != fieldAnnotation.defaultFloatValue()) {
+				writer.writeName(field.name);
+				writer.writeFloat(value);
+			}
+		} else if (type == double.class) {
+			double value = accessor.getDouble(object);
+			if (fieldAnnotation.writeIfDefaultValue() || value != fieldAnnotation.defaultDoubleValue()) {
+				writer.writeName(field.name);
+				writer.writeDouble(value);
+			}
+		} else if (type == boolean.class) {
+			boolean value = accessor.getBoolean(object);
+			if (fieldAnnotation.writeIfDefaultValue() || value != fieldAnnotation.defaultBooleanValue()) {
+				writer.writeName(field.name);
+				writer.writeBoolean(value);
+			}
+		} else {
+
+			Object value = accessor.get(object);
+
+			if (value == null) {
+				if (annotation.writeNull()) {
+					writer.writeName(field.name);
+					writer.writeTag(NULL);
+				}
+				return;
+			}
+
+			if (field.array != null) {
+				writeArray(field, (Array<?>) value);
+			} else if (field.map != null) {
+				writeMap(field, value);
+			} else if (field.lazy != null) {
+				// lazy values are loaded to be written in binary format
+				Object lazyValue = ((LazyValue<?>) value).get();
+				if (lazyValue != null || annotation.writeNull()) {
+					writer.writeName(field.name);
+					writeValue(lazyValue, field.lazy.value(), null);
+				}
+			} else if (type.isArray() && java.lang.reflect.Array.getLength(value) == 0) {
+				// empty arrays are not written, same as with JSON
+			} else {
+				writer.writeName(field.name);
+				writeValue(value, type, field.componentType);
+			}
+		}
+	}
+
+	private void writeArray(ClassLayout.FieldLayout field, Array<?> array) {
+
+		if (array.size == 0) {
+			return;
+		}
+
+		Class<?> valueType = field.array.value();
+
+		writer.writeName(field.name);
+		writer.writeTag(ARRAY);
+		writer.writeVarInt(array.size);
+
+		for (int i = 0; i < array.size; i++) {
+			writeValue(array.get(i), valueType, null);
+		}
+	}
+
+	private void writeMap(ClassLayout.FieldLayout field, Object map) {
+
+		Class<?> keyType = field.map.key();
+		Class<?> valueType = field.map.value();
+
+		if (map instanceof Map) {
+
+			Map<?, ?> values = (Map<?, ?>) map;
+
+			if (values.isEmpty()) {
+				return;
+			}
+
+			writer.writeName(field.name);
+			writer.writeTag(MAP);
+			writer.writeVarInt(values.size());
+
+			for (Map.Entry<?, ?> entry : values.entrySet()) {
+				writeValue(entry.getKey(), keyType, null);
+				writeValue(entry.getValue(), valueType, null);
+			}
+
+		} else if (map instanceof ObjectMap) {
+
+			ObjectMap<?, ?> values = (ObjectMap<?, ?>) map;
+
+			if (values.size == 0) {
+				return;
+			}
+
+			writer.writeName(field.name);
+			writer.writeTag(MAP);
+			writer.writeVarInt(values.size);
+
+			for (ObjectMap.Entry<?, ?> entry : values.entries()) {
+				writeValue(entry.key, keyType, null);
+				writeValue(entry.value, valueType, null);
+			}
+		}
+	}
+
+	private Object readValue(byte tag, Class<?> type, Class<?> elementType) {
+
+		switch (tag) {
+
+			case NULL:
+				return null;
+
+			case FALSE:
+				return Boolean.FALSE;
+
+			case TRUE:
+				return Boolean.TRUE;
+
+			case INT:
+				return convert(reader.readInt(), type);
+
+			case LONG: {
+				long value = reader.readLong();
+				return type == Object.class ? (Object) value : convert(value, type);
+			}
+
+			case FLOAT: {
+				float value = reader.readFloat();
+				return type == Object.class || type == float.class || type == Float.class
+						? (Object) value : convert(value, type);
+			}
+
+			case DOUBLE:
+				return convert(reader.readDouble(), type);
+
+			case STRING:
+				return convert(reader.readString(), type);
+
+			case FLOAT_ARRAY:
+				return reader.readFloats();
+
+			case DOUBLE_ARRAY:
+				return reader.readDoubles();
+
+			case BYTE_ARRAY:
+				return reader.readBytes();
+
+			case ARRAY: {
+				int length = reader.readVarInt();
+				Class<?> componentType = type.isArray() ? type.getComponentType() : Object.class;
+				Object array = java.lang.reflect.Array.newInstance(componentType, length);
+				for (int i = 0; i < length; i++) {
+					java.lang.reflect.Array.set(array, i, readValue(reader.readTag(), componentType, null));
+				}
+				return array;
+			}
+
+			case OBJECT:
+				return readObject(ClassLayout.ofAnnotated(type));
+
+			case TYPED_OBJECT:
+				return readObject(ClassLayout.ofAnnotated(resolveClass(reader.readClassName(), type)));
+
+			case JSON:
+				return json.fromJson(type, elementType, reader.readString());
+
+			default:
+				reader.skip(tag);
+				GdxSnippets.log.warn("Unexpected value of type {} for {}, skipped", tag, type.getName());
+				return null;
+		}
+	}
+
+	private Object readObject(ClassLayout layout) {
+
+		Object object = layout.newInstance();
+		boolean[] found = layout.hasMissingFieldDefaults ? new boolean[layout.fields.length] : null;
+
+		String name;
+
+		while ((name = reader.readFieldName()) != null) {
+
+			byte tag = reader.readTag();
+			int index = layout.indexOf(name);
+
+			if (index < 0) {
+				// no longer part of this class
+				reader.skip(tag);
+				continue;
+			}
+
+			if (tag == NULL) {
+				// same as with JSON, null values are treated like missing ones
+				continue;
+			}
+
+			readField(object, layout.fields[index], tag);
+
+			if (found != null) {
+				found[index] = true;
+			}
+		}
+
+		if (found != null) {
+			layout.setMissingFieldDefaults(object, found);
+		}
+
+		if (layout.callbacks) {
+			((AnnotatedJsonObject) object).onJsonRead();
+		}
+
+		return object;
+	}
+
+	private void readField(Object object, ClassLayout.FieldLayout field, byte tag) {
+
+		Class<?> type = field.type;
+		FieldAccessor accessor = field.accessor;
+
+		if (type == int.class && tag == INT) {
+			accessor.setInt(object, reader.readInt());
+		} else if (type == float.class && tag == FLOAT) {
+			accessor.setFloat(object, reader.readFloat());
+		} else if (type == double.class && tag == DOUBLE) {
+			accessor.setDouble(object, reader.readDouble());
+		} else if (type == boolean.class && (tag == TRUE || tag == FALSE)) {
+			accessor.setBoolean(object, tag == TRUE);
+		} else if (field.array != null && tag == ARRAY) {
+			accessor.set(object, readArray(field));
+		} else if (field.map != null && tag == MAP) {
+			accessor.set(object, readMap(field));
+		} else if (field.lazy != null) {
+			accessor.set(object, new LazyValue<>(readValue(tag, field.lazy.value(), null)));
+		} else {
+			Object value = readValue(tag, type, field.componentType);
+			if (value != null) {
+				accessor.set(object, value);
+			}
+		}
+	}
+
+	private Array<?> readArray(ClassLayout.FieldLayout field) {
+
+		Class<?> valueType = field.array.value();
+
+		int size = reader.readVarInt();
+		Array<Object> values = field.newArray(size);
+
+		for (int i = 0; i < size; i++) {
+			values.add(readValue(reader.readTag(), valueType, null));
+		}
+
+		return values;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object readMap(ClassLayout.FieldLayout field) {
+
+		Class<?> keyType = field.map.key();
+		Class<?> valueType = field.map.value();
+
+		int size = reader.readVarInt();
+		Object map = field.newMap(size);
+
+		if (map instanceof Map) {
+			Map<Object, Object> values = (Map<Object, Object>) map;
+			for (int i = 0; i < size; i++) {
+				Object key = readValue(reader.readTag(), keyType, null);
+				values.put(key, readValue(reader.readTag(), valueType, null));
+			}
+		} else {
+			ObjectMap<Object, Object> values = (ObjectMap<Object, Object>) map;
+			for (int i = 0; i < size; i++) {
+				Object key = readValue(reader.readTag(), keyType, null);
+				values.put(key, readValue(reader.readTag(), valueType, null));
+			}
+		}
+
+		return map;
+	}
+
+	private Class<?> resolveClass(String name, Class<?> type) {
+
+		Class<?> clazz;
+
+		try {
+			clazz = Class.forName(name);
+		} catch (ClassNotFoundException e) {
+			throw new GdxRuntimeException(e);
+		}
+
+		if (!type.isAssignableFrom(clazz)) {
+			throw new GdxRuntimeException(type.getName() + " is not assignable from " + name);
+		}
+
+		return clazz;
+	}
+
+	/**
+	 * Converts numbers to the type expected. If the type is unknown, the value is returned as is.
+	 */
+	private static Object convert(int value, Class<?> type) {
+
+		if (type == int.class || type == Integer.class) {
+			return value;
+		} else if (type == char.class || type == Character.class) {
+			return (char) value;
+		}
+
+		return convert((long) value, type);
+	}
+
+	private static Object convert(long value, Class<?> type) {
+
+		if (type == long.class || type == Long.class) {
+			return value;
+		} else if (type == int.class || type == Integer.class) {
+			return (int) value;
+		} else if (type == short.class || type == Short.class) {
+			return (short) value;
+		} else if (type == byte.class || type == Byte.class) {
+			return (byte) value;
+		} else if (type == float.class || type == Float.class) {
+			return (float) value;
+		} else if (type == double.class || type == Double.class) {
+			return (double) value;
+		} else if (type == char.class || type == Character.class) {
+			return (char) value;
+		}
+
+		return (int) value == value ? (Object) (int) value : (Object) value;
+	}
+
+	private static Object convert(double value, Class<?> type) {
+
+		if (type == float.class || type == Float.class) {
+			return (float) value;
+		} else if (type == int.class || type == Integer.class) {
+			return (int) value;
+		} else if (type == long.class || type == Long.class) {
+			return (long) value;
+		} else if (type == short.class || type == Short.class) {
+			return (short) value;
+		} else if (type == byte.class || type == Byte.class) {
+			return (byte) value;
+		}
+
+		return value;
+	}
+
+	private static Object convert(String value, Class<?> type) {
+
+		if (type.isEnum()) {
+			return enumValueOf(type, value);
+		} else if ((type == char.class || type == Character.class) && value.length() == 1) {
+			return value.charAt(0);
+		}
+
+		return value;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E extends Enum<E>> E enumValueOf(Class<?> type, String value) {
+		return Enum.valueOf((Class<E>) type, value);
+	}
+
+}
@@ -1,15 +1,15 @@
 package com.badlogic.gdx.json;
 
-import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.concurrent.AsyncTaskExecutor;
+import com.badlogic.gdx.files.*;
 import com.badlogic.gdx.function.Predicate;
 import com.badlogic.gdx.function.*;
 import com.badlogic.gdx.lang.ClassFinder;
 import com.badlogic.gdx.utils.*;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * Utility functions to read or write a hierarchy of objects annotated with
@@ -20,7 +20,7 @@ public class AnnotatedJson {
 	public static <T> Json newReader(Class<T> clazz, Consumer<Json> setupJson) {
 
 		Json json = new Json();
-		json.setSerializer(clazz, new AnnotatedJsonSerializer<>(json, clazz));
+		json.setSerializer(clazz, newSerializer(json, clazz));
 
 		if (setupJson != null) {
 			setupJson.accept(json);
@@ -48,6 +48,74 @@ public class AnnotatedJson {
 		}
 	}
 
+	/**
+	 * Version of {@link AnnotatedJson#read(FileHandle, Class, Json)} which parses the file content straight from
+	 * a {@link MappedFile}, instead of reading it through a buffered stream.
+	 */
+	public static <T> T readMapped(FileHandle path, Class<T> clazz, Json json) throws IOException {
+		MappedFile mappedFile = MappedFile.map(path);
+		try {
+			Reader reader = new InputStreamReader(mappedFile.read(), StandardCharsets.UTF_8);
+			return json.fromJson(clazz, reader);
+		} catch (SerializationException e) {
+			GdxSnippets.log.error("Error while serializing class " + clazz.getName(), e);
+			throw new IOException(e.getCause());
+		} catch (RuntimeException e) {
+			throw new IOException(e);
+		} finally {
+			mappedFile.dispose();
+		}
+	}
+
+	/**
+	 * Version of {@link AnnotatedJson#read(FileHandle, Class, Json)} which uses an
+	 * {@link AnnotatedJsonStreamReader} to fill objects while parsing, instead of building the whole document
+	 * in memory first.
+	 */
+	public static <T> T readStreaming(FileHandle path, Class<T> clazz, Json json) throws IOException {
+		try {
+			InputStream fileStream = path.read();
+			BufferedInputStream stream = new BufferedInputStream(fileStream);
+			Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8);
+			return new AnnotatedJsonStreamReader(json).read(reader, clazz);
+		} catch (SerializationException e) {
+			GdxSnippets.log.error("Error while serializing class " + clazz.getName(), e);
+			throw new IOException(e.getCause());
+		} catch (RuntimeException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Version of {@link AnnotatedJson#read(FileHandle, Class, Json)} which reads into an existing object, instead
+	 * of creating a new one. Returns the object passed, or a new instance if the data is of a different type.
+	 * <p>
+	 * Throws an exception if there's no annotated serializer registered for the class.
+	 *
+	 * @see AnnotatedJsonSerializer#readInto(Json, JsonValue, Object)
+	 */
+	public static <T> T readInto(FileHandle path, Class<T> clazz, T object, Json json) throws IOException {
+
+		Json.Serializer<T> serializer = json.getSerializer(clazz);
+
+		if (!(serializer instanceof AnnotatedJsonSerializer) && !(serializer instanceof GeneratedJsonSerializer)) {
+			throw new GdxRuntimeException("No annotated serializer registered for " + clazz.getName());
+		}
+
+		try {
+			InputStream fileStream = path.read();
+			BufferedInputStream stream = new BufferedInputStream(fileStream);
+			Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8);
+			JsonValue jsonData = new JsonReader().parse(reader);
+			return clazz.cast(AnnotatedJsonSerializer.readInPlace(json, jsonData, clazz, null, object));
+		} catch (SerializationException e) {
+			GdxSnippets.log.error("Error while serializing class " + clazz.getName(), e);
+			throw new IOException(e.getCause());
+		} catch (RuntimeException e) {
+			throw new IOException(e);
+		}
+	}
+
 	public static <T> T read(byte[] bytes, Class<T> clazz, Json json) throws IOException {
 		try {
 			InputStream bais = new ByteArrayInputStream(bytes);
@@ -62,9 +130,19 @@ public class AnnotatedJson {
 	}
 
 	public static <T> T readGZip(FileHandle path, Class<T> clazz, Json json) throws IOException {
+		return read(path, clazz, json, GZipCodec.DEFAULT);
+	}
+
+	public static <T> T readGZip(byte[] bytes, Class<T> clazz, Json json) throws IOException {
+		return read(bytes, clazz, json, GZipCodec.DEFAULT);
+	}
+
+	/**
+	 * Reads a file written by {@link AnnotatedJson#write(FileHandle, boolean, Object, Json, StreamCodec)}.
+	 */
+	public static <T> T read(FileHandle path, Class<T> clazz, Json json, StreamCodec codec) throws IOException {
 		try {
-			InputStream fileStream = path.read();
-			InputStream stream = new GZIPInputStream(fileStream);
+			InputStream stream = codec.decode(path.read());
 			Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8);
 			return json.fromJson(clazz, reader);
 		} catch (SerializationException e) {
@@ -75,11 +153,10 @@ public class AnnotatedJson {
 		}
 	}
 
-	public static <T> T readGZip(byte[] bytes, Class<T> clazz, Json json) throws IOException {
+	public static <T> T read(byte[] bytes, Class<T> clazz, Json json, StreamCodec codec) throws IOException {
 		try {
-			InputStream bais = new ByteArrayInputStream(bytes);
-			InputStream gzip = new GZIPInputStream(bais);
-			Reader reader = new InputStreamReader(gzip, StandardCharsets.UTF_8);
+			InputStream stream = codec.decode(new ByteArrayInputStream(bytes));
+			Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8);
 			return json.fromJson(clazz, reader);
 		} catch (SerializationException e) {
 			GdxSnippets.log.error("Error while serializing class " + clazz.getName(), e);
@@ -92,7 +169,7 @@ public class AnnotatedJson {
 	public static <T> Json newWriter(Class<T> clazz, Consumer<Json> setupJson) {
 
 		Json json = new Json(JsonWriter.OutputType.json);
-		json.setSerializer(clazz, new AnnotatedJsonSerializer<>(json, clazz));
+		json.setSerializer(clazz, newSerializer(json, clazz));
 
 		if (setupJson != null) {
 			setupJson.accept(json);
@@ -115,16 +192,18 @@ public class AnnotatedJson {
 		write(path, false, object, json);
 	}
 
+	/**
+	 * Serializes the object straight to the file, without building the document in memory first. If
+	 * compact == false, the output is pretty-printed on the fly.
+	 * <p>
+	 * Pretty-printing requires the {@link JsonWriter.OutputType#json} output type, which is the default for
+	 * {@link AnnotatedJson#newWriter(Class, Consumer)}.
+	 */
 	public static <T> void write(FileHandle path, boolean compact, T object, Json json) throws IOException {
 
-		String output = json.toJson(object);
-		String prettyOutput = compact ? output : json.prettyPrint(output);
-
-		try (FileOutputStream fos = new FileOutputStream(path.file(), false)) {
-			try (Writer writer = new OutputStreamWriter(fos, StandardCharsets.UTF_8)) {
-				writer.write(prettyOutput);
-				writer.flush();
-			}
+		try (AtomicFileWriter writer = new AtomicFileWriter(path, StandardCharsets.UTF_8)) {
+			json.toJson(object, new JsonOutputWriter(writer, !compact));
+			writer.commit();
 		}
 	}
 
@@ -138,36 +217,92 @@ public class AnnotatedJson {
 		}
 	}
 
+	/**
+	 * GZIP-compressed version of {@link AnnotatedJson#write(FileHandle, boolean, Object, Json)}.
+	 */
 	public static <T> void writeGZip(FileHandle path, boolean compact, T object, Json json) throws IOException {
+		write(path, compact, object, json, GZipCodec.DEFAULT);
+	}
+
+	public static <T> byte[] writeGZip(T object, Json json) throws IOException {
+		return write(object, json, GZipCodec.DEFAULT);
+	}
 
-		String output = json.toJson(object);
-		String prettyOutput = compact ? output : json.prettyPrint(output);
+	/**
+	 * Version of {@link AnnotatedJson#write(FileHandle, boolean, Object, Json)} which encodes the output, e.g.
+	 * compresses it with {@link GZipCodec} or {@link LZ4Codec}. The file is only replaced once the encoding has
+	 * finished.
+	 */
+	public static <T> void write(FileHandle path, boolean compact, T object, Json json,
+								 StreamCodec codec) throws IOException {
 
-		try (OutputStream gzip = new GZIPOutputStream(new FileOutputStream(path.file(), false), true)) {
-			try (Writer writer = new OutputStreamWriter(gzip, StandardCharsets.UTF_8)) {
-				writer.write(prettyOutput);
-				writer.flush();
+		try (AtomicFileOutputStream stream = new AtomicFileOutputStream(path)) {
+			try (Writer writer = new OutputStreamWriter(codec.encode(stream), StandardCharsets.UTF_8)) {
+				json.toJson(object, new JsonOutputWriter(writer, !compact));
 			}
+			stream.commit();
 		}
 	}
 
-	public static <T> byte[] writeGZip(T object, Json json) throws IOException {
+	public static <T> byte[] write(T object, Json json, StreamCodec codec) throws IOException {
 
 		ByteArrayOutputStream baos = new ByteArrayOutputStream(65536);
 
-		try (OutputStream gzip = new GZIPOutputStream(baos, true)) {
-			try (Writer writer = new OutputStreamWriter(gzip, StandardCharsets.UTF_8)) {
-				json.toJson(object, writer);
-				return baos.toByteArray();
-			}
+		try (Writer writer = new OutputStreamWriter(codec.encode(baos), StandardCharsets.UTF_8)) {
+			json.toJson(object, writer);
+		}
+
+		return baos.toByteArray();
+	}
+
+	/**
+	 * Reads an object written by {@link AnnotatedJson#writeBinary(FileHandle, Object, Json)}. The file content is
+	 * decoded straight from a {@link MappedFile}.
+	 *
+	 * @see AnnotatedBinarySerializer
+	 */
+	public static <T> T readBinary(FileHandle path, Class<T> clazz, Json json) throws IOException {
+		MappedFile mappedFile = MappedFile.map(path);
+		try {
+			return new AnnotatedBinarySerializer(json).read(mappedFile.buffer(), clazz);
+		} catch (RuntimeException e) {
+			throw new IOException("Error reading " + path.path(), e);
+		} finally {
+			mappedFile.dispose();
+		}
+	}
+
+	/**
+	 * Writes the object in binary format. This uses the same annotations, and produces the same object hierarchy
+	 * on read, as the JSON functions.
+	 *
+	 * @see AnnotatedBinarySerializer
+	 */
+	public static <T> void writeBinary(FileHandle path, T object, Json json) throws IOException {
+
+		ByteBuffer buffer;
+
+		try {
+			buffer = new AnnotatedBinarySerializer(json).write(object);
+		} catch (RuntimeException e) {
+			throw new IOException("Error writing " + path.path(), e);
+		}
+
+		try (AtomicFileOutputStream stream = new AtomicFileOutputStream(path)) {
+			stream.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+			stream.commit();
 		}
 	}
 
 	/**
 	 * Convenience function to register another annotated Json serializer.
+	 * <p>
+	 * If a serializer has been generated for this class by
+	 * {@link com.badlogic.gdx.json.processor.JsonSerializerProcessor}, this one is used. Otherwise, an
+	 * {@link AnnotatedJsonSerializer} is created.
 	 */
 	public static <T> void register(Json json, Class<T> clazz) {
-		json.setSerializer(clazz, new AnnotatedJsonSerializer<>(json, clazz));
+		json.setSerializer(clazz, newSerializer(json, clazz));
 	}
 
 	/**
@@ -177,6 +312,46 @@ public class AnnotatedJson {
 		json.setSerializer(clazz, serializer);
 	}
 
+	/**
+	 * Sets the executor used by this {@link Json} instance to process fields annotated with
+	 * {@link com.badlogic.gdx.json.annotations.JsonArray} and parallel = true. Worker threads use their own Json
+	 * instance, created on first use by the given function, which must be set up to serialize the array elements
+	 * the same way as the Json instance passed.
+	 * <p>
+	 * Pass null to process those fields sequentially again. Fields serialized from one of the executor's worker
+	 * threads are always processed sequentially.
+	 */
+	public static void setParallelExecutor(Json json, AsyncTaskExecutor executor, Supplier<Json> newJson) {
+		JsonArraySerializer.setParallelExecutor(json, executor, newJson);
+	}
+
+	/**
+	 * Sets a function which provides instances of the given class on read, e.g. a {@link Pool}. If the function
+	 * returns null, a new instance is created.
+	 * <p>
+	 * Provided instances are read in place, so fields missing from the data are reset to their defaults instead
+	 * of keeping values from previous use. Nested objects and containers of provided instances are reused.
+	 *
+	 * @see AnnotatedJsonSerializer#setInstanceProvider(Supplier)
+	 */
+	public static <T> void setInstanceProvider(Json json, Class<T> clazz, Supplier<T> instanceProvider) {
+
+		Json.Serializer<T> serializer = json.getSerializer(clazz);
+
+		if (serializer instanceof AnnotatedJsonSerializer) {
+			((AnnotatedJsonSerializer<T>) serializer).setInstanceProvider(instanceProvider);
+		} else if (serializer instanceof GeneratedJsonSerializer) {
+			((GeneratedJsonSerializer<T>) serializer).setInstanceProvider(instanceProvider);
+		} else {
+			throw new GdxRuntimeException("No annotated serializer registered for " + clazz.getName());
+		}
+	}
+
+	static <T> Json.Serializer<T> newSerializer(Json json, Class<T> clazz) {
+		Json.Serializer<T> serializer = GeneratedJsonSerializer.create(json, clazz);
+		return serializer != null ? serializer : new AnnotatedJsonSerializer<>(json, clazz);
+	}
+
 	/**
 	 * Scans for subclasses of the given class, and adds annotated serializers for each
 	 * of them. Only classes located the same URL as the given class are searched.
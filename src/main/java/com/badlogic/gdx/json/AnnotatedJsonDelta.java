@@ -0,0 +1,311 @@
+package com.badlogic.gdx.json;
+
+import com.badlogic.gdx.files.AtomicFileWriter;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a hierarchy of annotated objects as a base document, followed by patch documents which only contain
+ * the subtrees changed since the previous write.
+ * <p>
+ * Patches follow the rules of a JSON merge patch (RFC 7386): objects are merged member by member, a null value
+ * removes a member, and any other value, including arrays, replaces the previous one as a whole. Null values and
+ * missing members are treated the same, just as {@link AnnotatedJsonSerializer} does when reading.
+ * <p>
+ * To compute a patch, the object is serialized, and compared to a snapshot of the document written last. Only
+ * the changes are written to disk. The snapshot is kept in memory as a {@link JsonValue} tree.
+ * <p>
+ * Instances of this class are not thread-safe.
+ */
+public class AnnotatedJsonDelta<T> {
+
+	private final Json json;
+	private final JsonReader reader = new JsonReader();
+
+	private JsonValue snapshot;
+
+	/**
+	 * @param json set up to write the {@link JsonWriter.OutputType#json} output type, e.g. a Json instance
+	 *             returned by {@link AnnotatedJson#newWriter(Class, com.badlogic.gdx.function.Consumer)}
+	 */
+	public AnnotatedJsonDelta(Json json) {
+		this.json = json;
+	}
+
+	/**
+	 * Writes the complete object, and uses it as the reference for the following patches.
+	 */
+	public void writeBase(FileHandle path, boolean compact, T object) throws IOException {
+
+		String text = json.toJson(object);
+
+		write(path, compact, text);
+		snapshot = reader.parse(text);
+	}
+
+	/**
+	 * Writes the changes since the last call to this function, or to {@link AnnotatedJsonDelta#writeBase}.
+	 * Returns false if nothing has changed. No file is written in this case.
+	 */
+	public boolean writePatch(FileHandle path, boolean compact, T object) throws IOException {
+
+		JsonValue current = serialize(object);
+		JsonValue patch = diff(snapshot, current);
+
+		if (patch == null) {
+			return false;
+		}
+
+		write(path, compact, patch.toJson(JsonWriter.OutputType.json));
+
+		// only once the patch is on disk, so that a failed write is repeated by the next patch
+		snapshot = current;
+
+		return true;
+	}
+
+	/**
+	 * Returns a patch with the changes since the last write, or null if nothing has changed. The object is then
+	 * used as the reference for the following patches.
+	 */
+	public JsonValue diff(T object) {
+
+		JsonValue current = serialize(object);
+		JsonValue patch = diff(snapshot, current);
+
+		snapshot = current;
+
+		return patch;
+	}
+
+	/**
+	 * Reads the base document, and merges the patches in the order given. The result is used as the reference
+	 * for the following patches.
+	 */
+	public T read(FileHandle base, Class<T> clazz, FileHandle... patches) throws IOException {
+
+		try {
+
+			JsonValue document = reader.parse(base);
+
+			for (FileHandle patch : patches) {
+				merge(document, reader.parse(patch));
+			}
+
+			T object = json.readValue(clazz, null, document);
+
+			// take the snapshot from the object, which may differ from the document, e.g. by default values
+			snapshot = reader.parse(json.toJson(object));
+
+			return object;
+
+		} catch (SerializationException e) {
+			GdxSnippets.log.error("Error while serializing class " + clazz.getName(), e);
+			throw new IOException(e.getCause());
+		} catch (RuntimeException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Merges the patch into the target object. Values of the patch are moved to the target, so the patch can't
+	 * be used anymore afterwards.
+	 */
+	public static void merge(JsonValue target, JsonValue patch) {
+
+		JsonValue change = patch.child;
+
+		while (change != null) {
+
+			JsonValue next = change.next;
+			JsonValue value = target.get(change.name);
+
+			if (change.isNull()) {
+				if (value != null) {
+					target.remove(change.name);
+				}
+			} else if (value != null && value.isObject() && change.isObject()) {
+				merge(value, change);
+			} else {
+				replace(target, value, change);
+			}
+
+			change = next;
+		}
+	}
+
+	private JsonValue serialize(T object) {
+
+		if (snapshot == null) {
+			throw new GdxRuntimeException("No base document written or read.");
+		}
+
+		return reader.parse(json.toJson(object));
+	}
+
+	private void write(FileHandle path, boolean compact, String text) throws IOException {
+
+		try (AtomicFileWriter writer = new AtomicFileWriter(path, StandardCharsets.UTF_8)) {
+			try (Writer output = new JsonOutputWriter(writer, !compact)) {
+				output.write(text);
+			}
+			writer.commit();
+		}
+	}
+
+	/**
+	 * Compares two objects, and returns a patch with the members changed, or null if both are equal.
+	 */
+	private static JsonValue diff(JsonValue previous, JsonValue current) {
+
+		JsonValue patch = null;
+		JsonValue cursor = previous.child;
+		int matched = 0;
+
+		for (JsonValue member = current.child; member != null; member = member.next) {
+
+			// members are usually written in the same order, so check the next one first
+			JsonValue value = cursor != null && member.name.equals(cursor.name) ? cursor : previous.get(member.name);
+
+			if (value != null) {
+				cursor = value.next;
+				matched++;
+			}
+
+			JsonValue change;
+
+			if (value == null || value.isNull()) {
+				change = member.isNull() ? null : copy(member);
+			} else if (member.isNull()) {
+				change = new JsonValue(JsonValue.ValueType.nullValue);
+			} else if (value.isObject() && member.isObject() && sameClassTag(value, member)) {
+				change = diff(value, member);
+			} else {
+				change = equals(value, member) ? null : copy(member);
+			}
+
+			if (change != null) {
+				if (patch == null) {
+					patch = new JsonValue(JsonValue.ValueType.object);
+				}
+				patch.addChild(member.name, change);
+			}
+		}
+
+		if (matched < previous.size) {
+
+			// some members have been removed
+			for (JsonValue value = previous.child; value != null; value = value.next) {
+				if (!value.isNull() && current.get(value.name) == null) {
+					if (patch == null) {
+						patch = new JsonValue(JsonValue.ValueType.object);
+					}
+					patch.addChild(value.name, new JsonValue(JsonValue.ValueType.nullValue));
+				}
+			}
+		}
+
+		return patch;
+	}
+
+	/**
+	 * Objects of a different (dynamic) type are replaced as a whole, so that no members of the previous type remain,
+	 * and the class tag is written first.
+	 */
+	private static boolean sameClassTag(JsonValue a, JsonValue b) {
+		String classA = a.getString("class", null);
+		String classB = b.getString("class", null);
+		return classA != null ? classA.equals(classB) : classB == null;
+	}
+
+	private static boolean equals(JsonValue a, JsonValue b) {
+
+		if (a.type() != b.type()) {
+			return false;
+		}
+
+		switch (a.type()) {
+
+			case object:
+			case array:
+
+				if (a.size != b.size) {
+					return false;
+				}
+
+				for (JsonValue x = a.child, y = b.child; x != null; x = x.next, y = y.next) {
+					if ((x.name != null ? !x.name.equals(y.name) : y.name != null) || !equals(x, y)) {
+						return false;
+					}
+				}
+
+				return true;
+
+			case nullValue:
+				return true;
+
+			default:
+				return a.asString().equals(b.asString());
+		}
+	}
+
+	private static JsonValue copy(JsonValue value) {
+
+		switch (value.type()) {
+			case object:
+			case array:
+				JsonValue copy = new JsonValue(value.type());
+				for (JsonValue child = value.child; child != null; child = child.next) {
+					JsonValue childCopy = copy(child);
+					childCopy.name = child.name;
+					copy.addChild(childCopy);
+				}
+				return copy;
+			case stringValue:
+				return new JsonValue(value.asString());
+			case doubleValue:
+				return new JsonValue(value.asDouble(), value.asString());
+			case longValue:
+				return new JsonValue(value.asLong(), value.asString());
+			case booleanValue:
+				return new JsonValue(value.asBoolean());
+			default:
+				return new JsonValue(JsonValue.ValueType.nullValue);
+		}
+	}
+
+	/**
+	 * Replaces a member of the parent object, or appends it if there is no previous value.
+	 */
+	private static void replace(JsonValue parent, JsonValue previous, JsonValue value) {
+
+		String name = value.name;
+
+		value.parent = parent;
+		value.next = null;
+		value.prev = null;
+
+		if (previous == null) {
+			parent.addChild(name, value);
+			return;
+		}
+
+		value.prev = previous.prev;
+		value.next = previous.next;
+
+		if (previous.prev != null) {
+			previous.prev.next = value;
+		} else {
+			parent.child = value;
+		}
+
+		if (previous.next != null) {
+			previous.next.prev = value;
+		}
+	}
+
+}
@@ -1,6 +1,6 @@
 package com.badlogic.gdx.json;
 
-import com.badlogic.gdx.function.Consumer;
+import com.badlogic.gdx.function.Supplier;
 import com.badlogic.gdx.json.annotations.*;
 import com.badlogic.gdx.utils.*;
 import com.badlogic.gdx.utils.reflect.*;
@@ -10,76 +10,35 @@ import java.util.Map;
 /**
  * Generic implementation of {@link com.badlogic.gdx.utils.Json.Serializer} which uses reflection information
  * to decide which fields to serialize.
+ * <p>
+ * The class tags of dynamic types are resolved to a class and serializer once, and cached by this serializer.
+ * Class tags or serializers added to the {@link Json} instance afterwards only apply to tags not seen before.
  *
  * @see com.badlogic.gdx.json.annotations.JsonSerializable
  * @see com.badlogic.gdx.json.annotations.JsonSerialize
  */
 public class AnnotatedJsonSerializer<T> implements Json.Serializer<T> {
 
-	private static class FieldAdapter {
-
-		final Field field;
-		final JsonSerialize annotation;
-		final boolean isArray;
-		final boolean isMap;
-
-		Json.Serializer<?> serializer;
-
-		FieldAdapter(Field field) {
-			this.field = field;
-			annotation = field.getDeclaredAnnotation(JsonSerialize.class).getAnnotation(JsonSerialize.class);
-			isArray = annotation.array().length > 0;
-			isMap = annotation.map().length > 0;
-		}
-
-		void ensureAccess(Consumer<FieldAdapter> consumer) {
-			boolean accessible = field.isAccessible();
-			try {
-				field.setAccessible(true);
-				consumer.accept(this);
-			} finally {
-				field.setAccessible(accessible);
-			}
-		}
-
-		@SuppressWarnings("unchecked")
-		<T, V> V get(T instance) {
-			try {
-				return (V) field.get(instance);
-			} catch (ReflectionException e) {
-				throw new GdxRuntimeException(e);
-			}
-		}
-
-		<T, V> void set(T instance, V value) {
-			try {
-				field.set(instance, value);
-			} catch (ReflectionException e) {
-				throw new GdxRuntimeException(e);
-			}
-		}
-
-		String getName() {
-			String name = annotation.name();
-			return name.isEmpty() ? field.getName() : name;
-		}
+	private final Class<T> clazz;
+	private final ClassLayout layout;
+	private final JsonSerializable annotation;
 
-	}
+	/** Class tags of dynamic types, resolved on first use. */
+	private final ObjectMap<String, TypeTag> typeTags = new ObjectMap<>();
 
-	private final Class<T> clazz;
-	private JsonSerializable annotation;
-	private final Array<FieldAdapter> fieldAdapters = new Array<>();
-	private final IntMap<Constructor> constructors = new IntMap<>(0);
+	private Supplier<T> instanceProvider;
 
 	AnnotatedJsonSerializer(Json json, Class<T> clazz) {
 		this.clazz = clazz;
-		createSerializer(json);
+		this.layout = ClassLayout.ofAnnotated(clazz);
+		this.annotation = layout.annotation;
+		register(json);
 	}
 
 	@Override
 	public void write(Json json, T object, Class knownType) {
 
-		if (AnnotatedJsonObject.class.isAssignableFrom(clazz)) {
+		if (layout.callbacks) {
 			((AnnotatedJsonObject) object).onJsonWrite();
 		}
 
@@ -100,217 +59,212 @@ public class AnnotatedJsonSerializer<T> implements Json.Serializer<T> {
 			json.writeValue("class", typeName, String.class);
 		}
 
-		for (int i = 0; i < fieldAdapters.size; i++) {
-
-			FieldAdapter adapter = fieldAdapters.get(i);
-
-			if (isKnownContainerType(adapter)) {
-
-				if (isArray(adapter)) {
-					writeArray(json, object, adapter);
-				} else if (isMap(adapter)) {
-					writeMap(json, object, adapter);
-				}
+		for (ClassLayout.FieldLayout field : layout.fields) {
 
+			if (field.array != null) {
+				writeArray(json, object, field);
+			} else if (field.map != null) {
+				writeMap(json, object, field);
+			} else if (field.lazy != null) {
+				LazyValue.write(json, field.name, (LazyValue<?>) field.accessor.get(object),
+						field.lazy.value(), annotation.writeNull());
 			} else {
-
-				writeObject(json, object, adapter);
-
+				writeObject(json, object, field);
 			}
 		}
 
 		json.writeObjectEnd();
 	}
 
-	private void writeObject(Json json, T object, FieldAdapter adapter) {
-
-		adapter.ensureAccess(accessible -> {
+	private void writeObject(Json json, T object, ClassLayout.FieldLayout field) {
 
-			Object value = accessible.get(object);
+		Class<?> fieldType = field.type;
+		FieldAccessor accessor = field.accessor;
+		JsonSerialize fieldAnnotation = field.annotation;
 
-			Class<?> fieldType = accessible.field.getType();
-
-			if (value != null) {
-
-				Class<?> valueType = value.getClass();
-				if (!valueType.equals(fieldType)) {
-					// todo: check for @JsonSerializable.dynamic() and warn/error
+		if (fieldType == int.class) {
+			int i = accessor.getInt(object);
+			if (fieldAnnotation.writeIfDefaultValue() || i != fieldAnnotation.defaultIntValue()) {
+				json.writeValue(field.name, i, fieldType);
+			}
+		} else if (fieldType == float.class) {
+			float f = accessor.getFloat(object);
+			if (fieldAnnotation.writeIfDefaultValue() || f != fieldAnnotation.defaultFloatValue()) {
+				if (annotation.encodeFP()) {
+					json.writeValue(field.name, JsonFloatSerializer.encodeFloatBits(f), fieldType);
+				} else {
+					json.writeValue(field.name, f, fieldType);
 				}
+			}
+		} else if (fieldType == double.class) {
+			double d = accessor.getDouble(object);
+			if (fieldAnnotation.writeIfDefaultValue() || d != fieldAnnotation.defaultDoubleValue()) {
+				if (annotation.encodeFP()) {
+					json.writeValue(field.name, JsonFloatSerializer.encodeDoubleBits(d), fieldType);
+				} else {
+					json.writeValue(field.name, d, fieldType);
+				}
+			}
+		} else if (fieldType == boolean.class) {
+			boolean b = accessor.getBoolean(object);
+			if (fieldAnnotation.writeIfDefaultValue() || b != fieldAnnotation.defaultBooleanValue()) {
+				json.writeValue(field.name, b, fieldType);
+			}
+		} else {
 
-			} else {
+			Object value = accessor.get(object);
 
+			if (value == null) {
 				if (!annotation.writeNull()) {
 					return;
 				}
-
 			}
 
 			if (fieldType.isArray()) {
 				int arrayLen = java.lang.reflect.Array.getLength(value);
 				if (arrayLen > 0) {
-					json.writeValue(accessible.getName(), value, fieldType, fieldType.getComponentType());
+					json.writeValue(field.name, value, fieldType, fieldType.getComponentType());
 				}
 			} else {
-				if (fieldType.equals(int.class)) {
-					int i = (int) value;
-					if (accessible.annotation.writeIfDefaultValue() || i != accessible.annotation.defaultIntValue()) {
-						json.writeValue(accessible.getName(), i, fieldType);
-					}
-				} else if (fieldType.equals(float.class)) {
-					float f = (float) value;
-					if (accessible.annotation.writeIfDefaultValue() || f != accessible.annotation.defaultFloatValue()) {
-						if (annotation.encodeFP()) {
-							json.writeValue(accessible.getName(), JsonFloatSerializer.encodeFloatBits(f), fieldType);
-						} else {
-							json.writeValue(accessible.getName(), f, fieldType);
-						}
-					}
-				} else if (fieldType.equals(double.class)) {
-					double d = (double) value;
-					if (accessible.annotation.writeIfDefaultValue() || d != accessible.annotation.defaultDoubleValue()) {
-						if (annotation.encodeFP()) {
-							json.writeValue(accessible.getName(), JsonFloatSerializer.encodeDoubleBits(d), fieldType);
-						} else {
-							json.writeValue(accessible.getName(), d, fieldType);
-						}
-					}
-				} else if (fieldType.equals(boolean.class)) {
-					boolean b = (boolean) value;
-					if (accessible.annotation.writeIfDefaultValue() || b != accessible.annotation.defaultBooleanValue()) {
-						json.writeValue(accessible.getName(), value, fieldType);
-					}
-				} else {
-					json.writeValue(accessible.getName(), value, fieldType);
-				}
+				json.writeValue(field.name, value, fieldType);
 			}
-		});
+		}
 	}
 
-	private void writeArray(Json json, T object, FieldAdapter adapter) {
+	private void writeArray(Json json, T object, ClassLayout.FieldLayout field) {
 
-		adapter.ensureAccess(accessible -> {
+		Array<?> array = (Array<?>) field.accessor.get(object);
 
-			Array<?> array = accessible.get(object);
-
-			if (array != null) {
-				if (array.size > 0) {
-					JsonArraySerializer<?> serializer = (JsonArraySerializer<?>) accessible.serializer;
-					serializer.write(json, array, Array.class);
-				}
-			} else {
-				if (annotation.writeNull()) {
-					json.writeValue(accessible.getName(), (Array) null, Array.class);
-				}
+		if (array != null) {
+			if (array.size > 0) {
+				JsonArraySerializer<?> serializer = (JsonArraySerializer<?>) field.containerSerializer;
+				serializer.write(json, array, Array.class);
 			}
-
-		});
+		} else {
+			if (annotation.writeNull()) {
+				json.writeValue(field.name, (Array) null, Array.class);
+			}
+		}
 	}
 
-	private void writeMap(Json json, T object, FieldAdapter adapter) {
-
-		adapter.ensureAccess(accessible -> {
+	private void writeMap(Json json, T object, ClassLayout.FieldLayout field) {
 
-			JsonMap map = accessible.annotation.map()[0];
+		JsonMap map = field.annotation.map()[0];
 
-			Class<?> clazz = map.map();
-			JsonMapSerializer<?, ?> serializer = (JsonMapSerializer<?, ?>) accessible.serializer;
+		Class<?> clazz = map.map();
+		JsonMapSerializer<?, ?> serializer = (JsonMapSerializer<?, ?>) field.containerSerializer;
 
-			if (Map.class.isAssignableFrom(clazz)) {
+		if (Map.class.isAssignableFrom(clazz)) {
 
-				Map<?, ?> value = accessible.get(object);
+			Map<?, ?> value = (Map<?, ?>) field.accessor.get(object);
 
-				if (value != null) {
-					if (value.size() > 0) {
-						serializer.write(json, value.entrySet(), Map.Entry::getKey, Map.Entry::getValue);
-					}
-				} else {
-					if (annotation.writeNull()) {
-						json.writeValue(accessible.getName(), (Map) null, Map.class);
-					}
+			if (value != null) {
+				if (value.size() > 0) {
+					serializer.write(json, value.entrySet(), Map.Entry::getKey, Map.Entry::getValue);
 				}
+			} else {
+				if (annotation.writeNull()) {
+					json.writeValue(field.name, (Map) null, Map.class);
+				}
+			}
 
-			} else if (ObjectMap.class.isAssignableFrom(clazz)) {
+		} else if (ObjectMap.class.isAssignableFrom(clazz)) {
 
-				ObjectMap<?, ?> value = accessible.get(object);
+			ObjectMap<?, ?> value = (ObjectMap<?, ?>) field.accessor.get(object);
 
-				if (value != null) {
-					if (value.size > 0) {
-						serializer.write(json, value.entries(), e -> e.key, e -> e.value);
-					}
-				} else {
-					if (annotation.writeNull()) {
-						json.writeValue(accessible.getName(), (ObjectMap) null, ObjectMap.class);
-					}
+			if (value != null) {
+				if (value.size > 0) {
+					serializer.write(json, value.entries(), e -> e.key, e -> e.value);
+				}
+			} else {
+				if (annotation.writeNull()) {
+					json.writeValue(field.name, (ObjectMap) null, ObjectMap.class);
 				}
-
 			}
 
-		});
+		}
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public T read(Json json, JsonValue jsonData, Class type) {
+		return readInstance(json, jsonData, null);
+	}
 
-		try {
-
-			T object;
-			Class<T> clazz = this.clazz;
-			Array<FieldAdapter> fieldAdapters = this.fieldAdapters;
-
-			if (annotation.dynamic()) {
+	/**
+	 * Reads into an existing object, instead of creating a new one. Nested annotated objects, and the elements of
+	 * {@link Array} fields, are updated in place as well, if they are of the same type as the data read. Existing
+	 * containers are cleared and refilled.
+	 * <p>
+	 * Fields which are missing from the data are reset: primitive fields to their annotated default value,
+	 * containers to empty ones, and other fields to a default instance if {@link JsonSerialize#createIfNull()}
+	 * applies, or null otherwise.
+	 * <p>
+	 * Returns the object passed, or a new instance if the data is of a different type.
+	 */
+	public T readInto(Json json, JsonValue jsonData, T object) {
+		return readInstance(json, jsonData, object);
+	}
 
-				String typeName = json.readValue("class", String.class, jsonData);
+	/**
+	 * Sets a function which provides instances to read into, e.g. a {@link Pool}. If the function returns null,
+	 * a new instance is created.
+	 * <p>
+	 * Provided instances are read in place: fields missing from the data are reset to their defaults, and nested
+	 * objects and containers are reused, the same way as with {@link #readInto(Json, JsonValue, Object)}.
+	 */
+	public void setInstanceProvider(Supplier<T> instanceProvider) {
+		this.instanceProvider = instanceProvider;
+	}
 
-				Class<?> typeClazz = null;
+	@SuppressWarnings("unchecked")
+	private T readInstance(Json json, JsonValue jsonData, T target) {
 
-				if (!annotation.fullyQualifiedClassTag()) {
-					typeClazz = json.getClass(typeName);
-				}
+		try {
 
-				if (typeClazz == null) {
-					typeClazz = Class.forName(typeName);
-				}
+			AnnotatedJsonSerializer<?> serializer = this;
 
-				if (!clazz.isAssignableFrom(typeClazz)) {
-					throw new ReflectionException(clazz.getName() + " is not assignable from " + typeName);
-				}
+			if (annotation.dynamic()) {
 
-				clazz = (Class<T>) typeClazz;
+				TypeTag typeTag = getTypeTag(json, jsonData);
 
 				// need to "re-route" to serializer of sub-class
-
-				Json.Serializer<T> serializer = json.getSerializer(clazz);
-
-				if (!(serializer instanceof AnnotatedJsonSerializer)) {
-					throw new GdxRuntimeException("No annotated serializer found for subclass " + clazz.getName());
+				if (typeTag.layout == null) {
+					GeneratedJsonSerializer<Object> generated = (GeneratedJsonSerializer<Object>) typeTag.serializer;
+					return (T) (target != null
+							? generated.readInto(json, jsonData, target)
+							: generated.read(json, jsonData, typeTag.clazz));
 				}
 
-				fieldAdapters = ((AnnotatedJsonSerializer) serializer).fieldAdapters;
+				serializer = (AnnotatedJsonSerializer<?>) typeTag.serializer;
 			}
 
-			object = createObjectInstance(clazz);
+			ClassLayout layout = serializer.layout;
+			boolean inPlace = target != null && target.getClass() == layout.clazz;
 
-			for (int i = 0; i < fieldAdapters.size; i++) {
+			T object = inPlace ? target : (T) serializer.obtainInstance();
 
-				FieldAdapter adapter = fieldAdapters.get(i);
-
-				if (isKnownContainerType(adapter)) {
+			if (object == null) {
+				object = (T) layout.newInstance();
+			} else {
+				// provided instances may have been used before, so reset them like objects read in place
+				inPlace = true;
+			}
 
-					if (isArray(adapter)) {
-						readArray(json, jsonData, object, adapter);
-					} else if (isMap(adapter)) {
-						readMap(json, jsonData, object, adapter);
-					}
+			for (ClassLayout.FieldLayout field : layout.fields) {
 
+				if (field.array != null) {
+					readArray(json, jsonData, object, field, inPlace);
+				} else if (field.map != null) {
+					readMap(json, jsonData, object, field, inPlace);
+				} else if (field.lazy != null) {
+					field.accessor.set(object, LazyValue.read(json, jsonData, field.name, field.lazy.value(),
+							inPlace ? null : (LazyValue<?>) field.accessor.get(object)));
 				} else {
-
-					readObject(json, jsonData, object, adapter);
-
+					readObject(json, jsonData, object, field, inPlace);
 				}
 			}
 
-			if (AnnotatedJsonObject.class.isAssignableFrom(clazz)) {
+			if (layout.callbacks) {
 				((AnnotatedJsonObject) object).onJsonRead();
 			}
 
@@ -321,155 +275,254 @@ public class AnnotatedJsonSerializer<T> implements Json.Serializer<T> {
 		}
 	}
 
-	@SuppressWarnings("unchecked")
-	private T createObjectInstance(Class<T> clazz) throws ReflectionException {
+	private Object obtainInstance() {
+		return instanceProvider != null ? instanceProvider.get() : null;
+	}
 
-		int hash = clazz.hashCode();
-		Constructor constructor = constructors.get(hash);
-		if (constructor == null) {
-			constructor = ClassReflection.getDeclaredConstructor(clazz);
-			constructors.put(hash, constructor);
-		}
-		boolean isConstructorPublic = constructor.isAccessible();
+	private void readObject(Json json, JsonValue jsonData, T object, ClassLayout.FieldLayout field, boolean inPlace) {
+
+		Class<?> fieldType = field.type;
 
-		if (!isConstructorPublic) {
-			constructor.setAccessible(true);
+		if (fieldType == int.class || fieldType == float.class
+				|| fieldType == double.class || fieldType == boolean.class) {
+			readPrimitive(jsonData, object, field, inPlace);
+			return;
 		}
 
-		T instance = (T) constructor.newInstance();
+		Class<?> componentType = field.componentType;
 
-		if (!isConstructorPublic) {
-			constructor.setAccessible(false);
+		Object value = inPlace
+				? readInPlace(json, jsonData.get(field.name), fieldType, componentType, field.accessor.get(object))
+				: json.readValue(field.name, fieldType, componentType, jsonData);
+
+		if (value == null) {
+
+			// create a default instance if the field is @JsonSerializable too, and the parent doesn't write null
+			if (!field.createIfNull) {
+				// there's no annotated default for other primitive types, so they keep their current value
+				if (inPlace && !fieldType.isPrimitive()) {
+					field.accessor.set(object, null);
+				}
+				return;
+			}
+
+			value = field.newDefaultInstance();
 		}
 
-		return instance;
+		field.accessor.set(object, value);
 	}
 
-	private void readObject(Json json, JsonValue jsonData, T object, FieldAdapter adapter) {
+	/**
+	 * Reads primitive values straight from the {@link JsonValue}, without boxing.
+	 * <p>
+	 * Floats and doubles stored as strings are always passed through the bit decoder, whether or not the
+	 * parent is annotated with {@link JsonSerializable#encodeFP()}. This allows loading of existing data after
+	 * the annotation property has been added or removed.
+	 */
+	private void readPrimitive(JsonValue jsonData, T object, ClassLayout.FieldLayout field, boolean inPlace) {
 
-		adapter.ensureAccess(accessible -> {
+		JsonValue value = jsonData.get(field.name);
 
-			Class<?> fieldType = accessible.field.getType();
-			Class<?> componentType = getFieldComponentType(adapter);
+		if (value == null || value.isNull()) {
+			if (inPlace) {
+				resetPrimitive(object, field);
+			}
+			return;
+		}
 
-			Object value;
+		Class<?> fieldType = field.type;
+		FieldAccessor accessor = field.accessor;
 
-			if (annotation.encodeFP() && fieldType.equals(float.class)) {
-				value = JsonFloatSerializer.decodeFloatBits(
-						json.readValue(accessible.getName(), String.class, jsonData), accessible.get(object));
-			} else if (annotation.encodeFP() && fieldType.equals(double.class)) {
-				value = JsonFloatSerializer.decodeDoubleBits(
-						json.readValue(accessible.getName(), String.class, jsonData), accessible.get(object));
+		if (fieldType == int.class) {
+			accessor.setInt(object, value.asInt());
+		} else if (fieldType == float.class) {
+			if (value.isString()) {
+				accessor.setFloat(object,
+						JsonFloatSerializer.decodeFloatBits(value.asString(), accessor.getFloat(object)));
 			} else {
-				try {
-					value = json.readValue(accessible.getName(), fieldType, componentType, jsonData);
-				} catch (SerializationException e) {
-					// attempt to load again, using bit decoder - this allows loading of existing
-					// data after an encodeFP() annotation property has been removed
-					if (fieldType.equals(float.class)) {
-						value = JsonFloatSerializer.decodeFloatBits(
-								json.readValue(accessible.getName(), String.class, jsonData), accessible.get(object));
-					} else if (fieldType.equals(double.class)) {
-						value = JsonFloatSerializer.decodeDoubleBits(
-								json.readValue(accessible.getName(), String.class, jsonData), accessible.get(object));
-					} else {
-						throw e;
-					}
-				}
+				accessor.setFloat(object, value.asFloat());
 			}
+		} else if (fieldType == double.class) {
+			if (value.isString()) {
+				accessor.setDouble(object,
+						JsonFloatSerializer.decodeDoubleBits(value.asString(), accessor.getDouble(object)));
+			} else {
+				accessor.setDouble(object, value.asDouble());
+			}
+		} else if (fieldType == boolean.class) {
+			accessor.setBoolean(object, value.asBoolean());
+		}
+	}
 
-			if (value == null) {
+	private void resetPrimitive(T object, ClassLayout.FieldLayout field) {
 
-				// if the parent annotation allows writing of null, do nothing here
-				if (annotation.writeNull()) {
-					return;
-				}
+		Class<?> fieldType = field.type;
+		FieldAccessor accessor = field.accessor;
+		JsonSerialize fieldAnnotation = field.annotation;
 
-				if (!adapter.annotation.createIfNull()) {
-					return;
-				}
+		if (fieldType == int.class) {
+			accessor.setInt(object, fieldAnnotation.defaultIntValue());
+		} else if (fieldType == float.class) {
+			accessor.setFloat(object, fieldAnnotation.defaultFloatValue());
+		} else if (fieldType == double.class) {
+			accessor.setDouble(object, fieldAnnotation.defaultDoubleValue());
+		} else if (fieldType == boolean.class) {
+			accessor.setBoolean(object, fieldAnnotation.defaultBooleanValue());
+		}
+	}
 
-				// if the field is @JsonSerializable too, create a default instance
-				if (ClassReflection.isAnnotationPresent(fieldType, JsonSerializable.class)) {
-					try {
-						value = ClassReflection.newInstance(fieldType);
-					} catch (ReflectionException e) {
-						throw new GdxRuntimeException(e);
-					}
-				} else {
-					return;
-				}
+	@SuppressWarnings("unchecked")
+	private void readArray(Json json, JsonValue jsonData, T object, ClassLayout.FieldLayout field, boolean inPlace) {
+
+		JsonArraySerializer<Object> serializer = (JsonArraySerializer<Object>) field.containerSerializer;
+
+		if (inPlace) {
+			Array<Object> oldValue = (Array<Object>) field.accessor.get(object);
+			if (oldValue != null && oldValue.getClass() == field.array.array()) {
+				serializer.readInto(json, jsonData, oldValue);
+				return;
 			}
+		}
+
+		Array<?> array = serializer.read(json, jsonData, Array.class);
 
-			accessible.set(object, value);
+		if (array == null) {
+			// todo: warning
+			return;
+		}
 
-		});
+		field.accessor.set(object, array);
 	}
 
-	private void readArray(Json json, JsonValue jsonData, T object, FieldAdapter adapter) {
+	@SuppressWarnings("unchecked")
+	private void readMap(Json json, JsonValue jsonData, T object, ClassLayout.FieldLayout field, boolean inPlace) {
+
+		JsonMap map = field.annotation.map()[0];
+
+		Class<?> clazz = map.map();
+		JsonMapSerializer<Object, Object> serializer = (JsonMapSerializer<Object, Object>) field.containerSerializer;
+		Object oldMap = inPlace ? field.accessor.get(object) : null;
+
+		if (oldMap instanceof Map) {
+			Map<Object, Object> oldValue = (Map<Object, Object>) oldMap;
+			serializer.read(json, jsonData, size -> {
+				oldValue.clear();
+				return oldValue;
+			}, Map::put);
+		} else if (oldMap instanceof ObjectMap) {
+			ObjectMap<Object, Object> oldValue = (ObjectMap<Object, Object>) oldMap;
+			serializer.read(json, jsonData, size -> {
+				oldValue.clear();
+				oldValue.ensureCapacity(size);
+				return oldValue;
+			}, ObjectMap::put);
+		} else if (Map.class.isAssignableFrom(clazz)) {
+			Map<?, ?> value = serializer.read(json, jsonData);
+			Map<?, ?> oldValue = (Map<?, ?>) field.accessor.get(object);
+			if (!(oldValue != null && oldValue.size() == 0 && value.size() == 0)) {
+				field.accessor.set(object, value);
+			}
+		} else if (ObjectMap.class.isAssignableFrom(clazz)) {
+			ObjectMap<?, ?> value = serializer.read(json, jsonData, ObjectMap::new, ObjectMap::put);
+			ObjectMap<?, ?> oldValue = (ObjectMap<?, ?>) field.accessor.get(object);
+			if (!(oldValue != null && oldValue.size == 0 && value.size == 0)) {
+				field.accessor.set(object, value);
+			}
+		}
+	}
 
-		adapter.ensureAccess(accessible -> {
+	/**
+	 * Reads a value into the current one, if both are of an annotated type, or reads a new value otherwise.
+	 */
+	@SuppressWarnings("unchecked")
+	static Object readInPlace(Json json, JsonValue jsonData, Class<?> type, Class<?> elementType, Object current) {
 
-			JsonArraySerializer<?> serializer = (JsonArraySerializer<?>) accessible.serializer;
-			Array<?> array = serializer.read(json, jsonData, Array.class);
+		if (jsonData == null || jsonData.isNull()) {
+			return null;
+		}
 
-			if (array == null) {
-				// todo: warning
-				return;
+		if (current != null && jsonData.isObject()) {
+			Json.Serializer<?> serializer = json.getSerializer(type);
+			if (serializer instanceof AnnotatedJsonSerializer) {
+				return ((AnnotatedJsonSerializer<Object>) serializer).readInto(json, jsonData, current);
+			} else if (serializer instanceof GeneratedJsonSerializer) {
+				return ((GeneratedJsonSerializer<Object>) serializer).readInto(json, jsonData, current);
 			}
+		}
 
-			accessible.set(object, array);
-
-		});
+		return json.readValue(type, elementType, jsonData);
 	}
 
-	private void readMap(Json json, JsonValue jsonData, T object, FieldAdapter adapter) {
+	/**
+	 * Returns the resolved class tag of a dynamic object. Class lookup, type check and serializer lookup are only
+	 * done once per tag, and cached.
+	 */
+	private TypeTag getTypeTag(Json json, JsonValue jsonData) throws ReflectionException, ClassNotFoundException {
 
-		adapter.ensureAccess(accessible -> {
+		String typeName = jsonData.getString("class", null);
 
-			JsonMap map = accessible.annotation.map()[0];
+		if (typeName == null) {
+			throw new GdxRuntimeException("Missing class tag for dynamic type " + clazz.getName());
+		}
 
-			Class<?> clazz = map.map();
-			JsonMapSerializer<?, ?> serializer = (JsonMapSerializer<?, ?>) accessible.serializer;
+		TypeTag typeTag = typeTags.get(typeName);
 
-			if (Map.class.isAssignableFrom(clazz)) {
-				Map<?, ?> value = serializer.read(json, jsonData);
-				Map<?, ?> oldValue = accessible.get(object);
-				if (!(oldValue != null && oldValue.size() == 0 && value.size() == 0)) {
-					accessible.set(object, value);
-				}
-			} else if (ObjectMap.class.isAssignableFrom(clazz)) {
-				ObjectMap<?, ?> value = serializer.read(json, jsonData, ObjectMap::new, ObjectMap::put);
-				ObjectMap<?, ?> oldValue = accessible.get(object);
-				if (!(oldValue != null && oldValue.size == 0 && value.size == 0)) {
-					accessible.set(object, value);
-				}
-			}
+		if (typeTag != null) {
+			return typeTag;
+		}
 
-		});
-	}
+		Class<?> typeClazz = null;
 
-	private void createSerializer(Json json) {
-		Annotation aAnnotation = findAnnotation(clazz, JsonSerializable.class);
-		if (aAnnotation == null) {
-			throw new GdxRuntimeException("Missing @JsonSerializable annotation for '" +
-					ClassReflection.getSimpleName(clazz) + "'.");
+		if (!annotation.fullyQualifiedClassTag()) {
+			typeClazz = json.getClass(typeName);
 		}
 
-		annotation = aAnnotation.getAnnotation(JsonSerializable.class);
+		if (typeClazz == null) {
+			typeClazz = Class.forName(typeName);
+		}
+
+		if (!clazz.isAssignableFrom(typeClazz)) {
+			throw new ReflectionException(clazz.getName() + " is not assignable from " + typeName);
+		}
 
-		createSerializerFields(json, clazz);
+		Json.Serializer<?> serializer = json.getSerializer(typeClazz);
 
-		// register self to Json instance
+		if (serializer instanceof GeneratedJsonSerializer) {
+			typeTag = new TypeTag(typeClazz, serializer, null);
+		} else if (serializer instanceof AnnotatedJsonSerializer) {
+			typeTag = new TypeTag(typeClazz, serializer, ((AnnotatedJsonSerializer<?>) serializer).layout);
+		} else {
+			throw new GdxRuntimeException("No annotated serializer found for subclass " + typeClazz.getName());
+		}
+
+		typeTags.put(typeName, typeTag);
+
+		return typeTag;
+	}
+
+	/**
+	 * Registers this serializer to the {@link Json} instance, and creates serializers for annotated types of fields
+	 * which don't have one yet. The reflection info itself is shared through {@link ClassLayout}.
+	 */
+	private void register(Json json) {
+
+		// register self to Json instance first, to stop recursion of self-referencing types
 		json.setSerializer(clazz, this);
 
 		// register class TAG for 'dynamic' types
 		if (annotation.dynamic() && !annotation.fullyQualifiedClassTag()) {
 			json.addClassTag(clazz.getSimpleName(), clazz);
 		}
+
+		for (Class<?> nestedType : layout.nestedTypes) {
+			if (json.getSerializer(nestedType) == null) {
+				// no reference stored, this is linked to the Json instance
+				AnnotatedJson.register(json, nestedType);
+			}
+		}
 	}
 
-	private Annotation findAnnotation(Class clazz, Class<? extends java.lang.annotation.Annotation> annotation) {
+	static Annotation findAnnotation(Class clazz, Class<? extends java.lang.annotation.Annotation> annotation) {
 
 		// check class (or interface)
 		if (ClassReflection.isAnnotationPresent(clazz, annotation)) {
@@ -490,125 +543,20 @@ public class AnnotatedJsonSerializer<T> implements Json.Serializer<T> {
 		return clazz == null ? null : findAnnotation(clazz, annotation);
 	}
 
-	private void createSerializerFields(Json json, Class<?> clazz) {
-
-		// declared fields of this class
-		Field[] fields = ClassReflection.getDeclaredFields(clazz);
-		createSerializerFields(json, fields);
-
-		// continue with super class, if annotated
-		clazz = clazz.getSuperclass();
-		if (clazz != null && findAnnotation(clazz, JsonSerializable.class) != null) {
-			createSerializerFields(json, clazz);
-		}
-	}
-
-	private void createSerializerFields(Json json, Field[] fields) {
-
-		ArrayUtils.forEach(fields, field -> {
-
-			// skip anything not annotated
-			if (!field.isAnnotationPresent(JsonSerialize.class)) {
-				return;
-			}
-
-			// add adapter
-			FieldAdapter adapter = new FieldAdapter(field);
-			fieldAdapters.add(adapter);
-
-			// check for known built-in types
-			if (isKnownContainerType(adapter)) {
-
-				// this serializer is not registered to the Json instance
-				adapter.serializer = addContainerSerializer(adapter);
-
-				// get types of components stored in container
-				Class<?>[] componentTypes = getContainerComponentTypes(adapter);
-
-				// if any of those types is annotated, recursively create a serializer for it
-				for (Class<?> componentType : componentTypes) {
-
-					if (ClassReflection.isAnnotationPresent(componentType, JsonSerializable.class)) {
-
-						// no reference stored, this is linked to the Json instance
-						new AnnotatedJsonSerializer<>(json, componentType);
-					}
-				}
-
-			} else {
-
-				Class<?> componentType = getFieldComponentType(adapter);
-				Json.Serializer<?> existingSerializer = json.getSerializer(componentType);
-
-				if (existingSerializer != null) {
-
-					// there's already a serializer registered
-					adapter.serializer = existingSerializer;
-
-				} else {
-
-					// if type of the field is annotated, recursively create a serializer for it
-					if (ClassReflection.isAnnotationPresent(componentType, JsonSerializable.class)) {
-						adapter.serializer = new AnnotatedJsonSerializer<>(json, componentType);
-					}
-				}
-			}
-		});
-
-	}
-
-	private Class<?> getFieldComponentType(FieldAdapter adapter) {
-		Class<?> clazz = adapter.field.getType();
-		return clazz.isArray() ? clazz.getComponentType() : clazz;
-	}
+	/**
+	 * Class, serializer and layout resolved from the class tag of a dynamic object. The layout is null for
+	 * generated serializers.
+	 */
+	private static class TypeTag {
 
-	private boolean isKnownContainerType(FieldAdapter adapter) {
-		return isArray(adapter) || isMap(adapter);
-	}
-
-	private Class<?>[] getContainerComponentTypes(FieldAdapter adapter) {
+		final Class<?> clazz;
+		final Json.Serializer<?> serializer;
+		final ClassLayout layout;
 
-		if (isArray(adapter)) {
-			return new Class[] { adapter.annotation.array()[0].value() };
-		} else if (isMap(adapter)) {
-			JsonMap map = adapter.annotation.map()[0];
-			return new Class[] { map.key(), map.value() };
+		TypeTag(Class<?> clazz, Json.Serializer<?> serializer, ClassLayout layout) {
+			this.clazz = clazz;
+			this.serializer = serializer;
+			this.layout = layout;
 		}
-
-		throw new GdxRuntimeException("Unknown container type!");
-	}
-
-	private Json.Serializer<?> addContainerSerializer(FieldAdapter adapter) {
-
-		if (isArray(adapter)) {
-
-			JsonArray array = adapter.annotation.array()[0];
-
-			if (!Array.class.isAssignableFrom(array.array())) {
-				throw new GdxRuntimeException("Container type must derive from Array<?>!");
-			}
-
-			return new JsonArraySerializer<>(adapter.getName(), array);
-
-		} else if (isMap(adapter)) {
-
-			JsonMap map = adapter.annotation.map()[0];
-
-			if (!Map.class.isAssignableFrom(map.map()) && !ObjectMap.class.isAssignableFrom(map.map())) {
-				throw new GdxRuntimeException("Container type must derive from Map<?, ?> or ObjectMap<?, ?>!");
-			}
-
-			return new JsonMapSerializer<>(adapter.getName(), map);
-		}
-
-		throw new GdxRuntimeException("Unknown container type!");
-	}
-
-	private boolean isArray(FieldAdapter adapter) {
-		return adapter.isArray;
-	}
-
-	private boolean isMap(FieldAdapter adapter) {
-		return adapter.isMap;
 	}
 }
@@ -0,0 +1,512 @@
+package com.badlogic.gdx.json;
+
+import com.badlogic.gdx.json.annotations.*;
+import com.badlogic.gdx.utils.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Map;
+
+import static com.badlogic.gdx.json.JsonTokenizer.*;
+
+/**
+ * Reads a hierarchy of objects annotated with {@link JsonSerializable} and {@link JsonSerialize} straight from
+ * JSON text, without building a {@link JsonValue} tree of the whole document first.
+ * <p>
+ * Annotated objects are filled while tokens are read. Field names are looked up using a hash table over the name
+ * characters, and primitive fields are set without boxing. The same rules as with {@link AnnotatedJsonSerializer}
+ * apply for dynamic types, default values, null values and empty containers.
+ * <p>
+ * Values of types which aren't annotated, or which have a custom serializer registered, are read into a (small)
+ * {@link JsonValue} tree, and passed to the {@link Json} instance. The same is done for dynamic objects which
+ * don't start with their "class" tag.
+ * <p>
+ * Instances of this class are not thread-safe.
+ */
+public class AnnotatedJsonStreamReader {
+
+	private final Json json;
+	private final ObjectMap<Class<?>, ClassLayout> layouts = new ObjectMap<>();
+
+	/** Resolved class tags, separate for short and fully qualified ones. */
+	private final ObjectMap<String, Class<?>> classTags = new ObjectMap<>();
+	private final ObjectMap<String, Class<?>> classNames = new ObjectMap<>();
+
+	private JsonTokenizer tokenizer;
+
+	/**
+	 * @param json used for values of types which aren't annotated
+	 */
+	public AnnotatedJsonStreamReader(Json json) {
+		this.json = json;
+	}
+
+	/**
+	 * Reads an object of the given type. The reader is closed afterwards.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T read(Reader reader, Class<T> clazz) throws IOException {
+
+		tokenizer = new JsonTokenizer(reader);
+
+		try {
+			return (T) readValue(tokenizer.next(), clazz, null);
+		} finally {
+			tokenizer = null;
+			StreamUtils.closeQuietly(reader);
+		}
+	}
+
+	private Object readValue(int token, Class<?> type, Class<?> elementType) throws IOException {
+
+		switch (token) {
+
+			case NULL:
+				return null;
+
+			case BEGIN_OBJECT: {
+				ClassLayout layout = getLayout(type);
+				if (layout != null) {
+					return readObject(layout);
+				}
+				break;
+			}
+
+			case BEGIN_ARRAY:
+				if (type.isArray() && json.getSerializer(type) == null) {
+					return readJavaArray(type.getComponentType());
+				}
+				break;
+
+			case STRING:
+				if (type == String.class) {
+					return tokenizer.text();
+				}
+				break;
+
+			case NUMBER:
+				if (type == int.class || type == Integer.class) {
+					return tokenizer.intValue();
+				} else if (type == float.class || type == Float.class) {
+					return tokenizer.floatValue();
+				} else if (type == double.class || type == Double.class) {
+					return tokenizer.doubleValue();
+				} else if (type == long.class || type == Long.class) {
+					return tokenizer.longValue();
+				}
+				break;
+
+			case TRUE:
+			case FALSE:
+				if (type == boolean.class || type == Boolean.class) {
+					return token == TRUE;
+				}
+				break;
+
+			case EOF:
+				throw tokenizer.error("Unexpected end of input");
+
+			default:
+				throw tokenizer.error("Unexpected token");
+		}
+
+		return json.readValue(type, elementType, readTree(token));
+	}
+
+	private Object readObject(ClassLayout layout) throws IOException {
+
+		int token = tokenizer.next();
+
+		if (layout.annotation.dynamic()) {
+
+			if (token != NAME || !tokenizer.textEquals("class")) {
+				// the class tag is missing, or not written first: read the object the slow way
+				JsonValue object = new JsonValue(JsonValue.ValueType.object);
+				readMembers(object, token);
+				return json.readValue(layout.clazz, null, object);
+			}
+
+			if (tokenizer.next() != STRING) {
+				throw tokenizer.error("Expected class name");
+			}
+
+			layout = getLayoutOrThrow(resolveClass(tokenizer.text(), layout));
+			token = tokenizer.next();
+		}
+
+		Object object = layout.newInstance();
+		boolean[] found = layout.hasMissingFieldDefaults ? new boolean[layout.fields.length] : null;
+
+		for (; token != END_OBJECT; token = tokenizer.next()) {
+
+			int index = layout.indexOf(tokenizer.chars(), 0, tokenizer.length());
+
+			token = tokenizer.next();
+
+			if (index < 0) {
+				// unknown field, or a class tag of a type which isn't dynamic
+				skipValue(token);
+				continue;
+			}
+
+			if (token == NULL) {
+				// null values are treated like missing ones
+				continue;
+			}
+
+			if (readField(object, layout.fields[index], token) && found != null) {
+				found[index] = true;
+			}
+		}
+
+		if (found != null) {
+			layout.setMissingFieldDefaults(object, found);
+		}
+
+		if (layout.callbacks) {
+			((AnnotatedJsonObject) object).onJsonRead();
+		}
+
+		return object;
+	}
+
+	/**
+	 * Reads the value of a field. Returns false if the value has been ignored.
+	 */
+	private boolean readField(Object object, ClassLayout.FieldLayout field, int token) throws IOException {
+
+		Class<?> type = field.type;
+		FieldAccessor accessor = field.accessor;
+
+		if (type == int.class && token == NUMBER) {
+			accessor.setInt(object, tokenizer.intValue());
+		} else if (type == float.class && token == NUMBER) {
+			accessor.setFloat(object, tokenizer.floatValue());
+		} else if (type == float.class && token == STRING) {
+			accessor.setFloat(object, JsonFloatSerializer.decodeFloatBits(tokenizer.chars(), 0, tokenizer.length()));
+		} else if (type == double.class && token == NUMBER) {
+			accessor.setDouble(object, tokenizer.doubleValue());
+		} else if (type == double.class && token == STRING) {
+			accessor.setDouble(object, JsonFloatSerializer.decodeDoubleBits(tokenizer.chars(), 0, tokenizer.length()));
+		} else if (type == boolean.class && (token == TRUE || token == FALSE)) {
+			accessor.setBoolean(object, token == TRUE);
+		} else if (field.array != null) {
+			if (token != BEGIN_ARRAY) {
+				skipValue(token);
+				return false;
+			}
+			accessor.set(object, readArray(field));
+		} else if (field.lazy != null) {
+			accessor.set(object, new LazyValue<>(json, field.lazy.value(), readTree(token)));
+		} else if (field.map != null) {
+			if (token != BEGIN_ARRAY && token != BEGIN_OBJECT) {
+				skipValue(token);
+				return false;
+			}
+			accessor.set(object, token == BEGIN_ARRAY ? readMap(field) : readCompactMap(field));
+		} else {
+			Object value = readValue(token, type, field.componentType);
+			if (value == null) {
+				return false;
+			}
+			accessor.set(object, value);
+		}
+
+		return true;
+	}
+
+	private Array<?> readArray(ClassLayout.FieldLayout field) throws IOException {
+
+		Class<?> valueType = field.array.value();
+		Array<Object> values = field.newArray(16);
+
+		int token;
+		while ((token = tokenizer.next()) != END_ARRAY) {
+			values.add(readValue(token, valueType, null));
+		}
+
+		return values;
+	}
+
+	private Object readMap(ClassLayout.FieldLayout field) throws IOException {
+
+		Class<?> keyType = field.map.key();
+		Class<?> valueType = field.map.value();
+
+		Object map = field.newMap(16);
+
+		int token;
+		while ((token = tokenizer.next()) != END_ARRAY) {
+
+			if (token != BEGIN_OBJECT) {
+				throw tokenizer.error("Expected map entry");
+			}
+
+			Object key = null;
+			Object value = null;
+
+			while ((token = tokenizer.next()) != END_OBJECT) {
+
+				boolean isKey = tokenizer.textEquals("key");
+				boolean isValue = !isKey && tokenizer.textEquals("value");
+
+				token = tokenizer.next();
+
+				if (isKey) {
+					key = readValue(token, keyType, null);
+				} else if (isValue) {
+					value = readValue(token, valueType, null);
+				} else {
+					skipValue(token);
+				}
+			}
+
+			put(map, key, value);
+		}
+
+		return map;
+	}
+
+	/**
+	 * Reads a map written with {@link JsonMap#compact()}, either as an object with {@link String} keys, or as an
+	 * object with parallel "keys" and "values" arrays.
+	 */
+	private Object readCompactMap(ClassLayout.FieldLayout field) throws IOException {
+
+		Class<?> keyType = field.map.key();
+		Class<?> valueType = field.map.value();
+
+		Object map = field.newMap(16);
+
+		if (keyType == String.class) {
+
+			while (tokenizer.next() != END_OBJECT) {
+				String key = tokenizer.text();
+				put(map, key, readValue(tokenizer.next(), valueType, null));
+			}
+
+			return map;
+		}
+
+		Array<Object> keys = null;
+		Array<Object> values = null;
+
+		while (tokenizer.next() != END_OBJECT) {
+
+			boolean isKeys = tokenizer.textEquals("keys");
+			boolean isValues = !isKeys && tokenizer.textEquals("values");
+
+			int token = tokenizer.next();
+
+			if (isKeys && token == BEGIN_ARRAY) {
+				keys = readItems(keyType);
+			} else if (isValues && token == BEGIN_ARRAY) {
+				values = readItems(valueType);
+			} else {
+				skipValue(token);
+			}
+		}
+
+		for (int i = 0; keys != null && i < keys.size; i++) {
+			put(map, keys.get(i), values != null && i < values.size ? values.get(i) : null);
+		}
+
+		return map;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void put(Object map, Object key, Object value) {
+		if (map instanceof Map) {
+			((Map<Object, Object>) map).put(key, value);
+		} else {
+			((ObjectMap<Object, Object>) map).put(key, value);
+		}
+	}
+
+	private Array<Object> readItems(Class<?> type) throws IOException {
+
+		Array<Object> items = new Array<>();
+
+		int token;
+		while ((token = tokenizer.next()) != END_ARRAY) {
+			items.add(readValue(token, type, null));
+		}
+
+		return items;
+	}
+
+	private Object readJavaArray(Class<?> componentType) throws IOException {
+
+		Array<Object> values = readItems(componentType);
+
+		Object array = java.lang.reflect.Array.newInstance(componentType, values.size);
+
+		for (int i = 0; i < values.size; i++) {
+			java.lang.reflect.Array.set(array, i, values.get(i));
+		}
+
+		return array;
+	}
+
+	/**
+	 * Reads the value starting with the given token into a {@link JsonValue}, the same way
+	 * {@link JsonReader} does.
+	 */
+	private JsonValue readTree(int token) throws IOException {
+
+		switch (token) {
+
+			case BEGIN_OBJECT: {
+				JsonValue object = new JsonValue(JsonValue.ValueType.object);
+				readMembers(object, tokenizer.next());
+				return object;
+			}
+
+			case BEGIN_ARRAY: {
+				JsonValue array = new JsonValue(JsonValue.ValueType.array);
+				JsonValue last = null;
+				while ((token = tokenizer.next()) != END_ARRAY) {
+					last = addChild(array, last, readTree(token));
+				}
+				return array;
+			}
+
+			case STRING:
+				return new JsonValue(tokenizer.text());
+
+			case NUMBER:
+				return tokenizer.isDecimal()
+						? new JsonValue(tokenizer.doubleValue(), tokenizer.text())
+						: new JsonValue(tokenizer.longValue(), tokenizer.text());
+
+			case TRUE:
+			case FALSE:
+				return new JsonValue(token == TRUE);
+
+			case NULL:
+				return new JsonValue(JsonValue.ValueType.nullValue);
+
+			default:
+				throw tokenizer.error("Unexpected token");
+		}
+	}
+
+	/**
+	 * Reads object members into the {@link JsonValue}, starting with the given (name) token, until the end of the
+	 * object.
+	 */
+	private void readMembers(JsonValue object, int token) throws IOException {
+
+		JsonValue last = null;
+
+		for (; token != END_OBJECT; token = tokenizer.next()) {
+			String name = tokenizer.text();
+			JsonValue child = readTree(tokenizer.next());
+			child.name = name;
+			last = addChild(object, last, child);
+		}
+	}
+
+	private static JsonValue addChild(JsonValue parent, JsonValue last, JsonValue child) {
+
+		child.parent = parent;
+
+		if (last == null) {
+			parent.child = child;
+		} else {
+			last.next = child;
+			child.prev = last;
+		}
+
+		parent.size++;
+
+		return child;
+	}
+
+	private void skipValue(int token) throws IOException {
+
+		for (int depth = 0; ; token = tokenizer.next()) {
+
+			if (token == BEGIN_OBJECT || token == BEGIN_ARRAY) {
+				depth++;
+			} else if (token == END_OBJECT || token == END_ARRAY) {
+				depth--;
+			} else if (token == EOF) {
+				throw tokenizer.error("Unexpected end of input");
+			}
+
+			if (depth == 0) {
+				return;
+			}
+		}
+	}
+
+	private Class<?> resolveClass(String typeName, ClassLayout layout) {
+
+		boolean fullyQualified = layout.annotation.fullyQualifiedClassTag();
+		ObjectMap<String, Class<?>> resolved = fullyQualified ? classNames : classTags;
+
+		Class<?> clazz = resolved.get(typeName);
+
+		if (clazz == null) {
+
+			if (!fullyQualified) {
+				clazz = json.getClass(typeName);
+			}
+
+			try {
+				if (clazz == null) {
+					clazz = Class.forName(typeName);
+				}
+			} catch (ClassNotFoundException e) {
+				throw new GdxRuntimeException(e);
+			}
+
+			resolved.put(typeName, clazz);
+		}
+
+		if (!layout.clazz.isAssignableFrom(clazz)) {
+			throw new GdxRuntimeException(layout.clazz.getName() + " is not assignable from " + typeName);
+		}
+
+		return clazz;
+	}
+
+	/**
+	 * Returns the layout of an annotated class, or null if the class isn't annotated, or if its values are
+	 * handled by a custom serializer.
+	 */
+	private ClassLayout getLayout(Class<?> clazz) {
+
+		ClassLayout layout = layouts.get(clazz);
+
+		if (layout == null && !layouts.containsKey(clazz)) {
+
+			layout = ClassLayout.of(clazz);
+
+			if (layout != null) {
+				Json.Serializer<?> serializer = json.getSerializer(clazz);
+				if (serializer != null && !(serializer instanceof AnnotatedJsonSerializer)
+						&& !(serializer instanceof GeneratedJsonSerializer)) {
+					layout = null;
+				}
+			}
+
+			layouts.put(clazz, layout);
+		}
+
+		return layout;
+	}
+
+	private ClassLayout getLayoutOrThrow(Class<?> clazz) {
+
+		ClassLayout layout = getLayout(clazz);
+
+		if (layout == null) {
+			throw new GdxRuntimeException("Missing @JsonSerializable annotation for '" + clazz.getName() + "'.");
+		}
+
+		return layout;
+	}
+
+}
@@ -0,0 +1,50 @@
+package com.badlogic.gdx.json;
+
+/**
+ * Constants of the binary encoding used by {@link AnnotatedBinarySerializer}.
+ * <p>
+ * A document starts with {@link BinaryFormat#MAGIC}, followed by one tagged value. Each value is a tag byte,
+ * followed by its payload:
+ * <ul>
+ * <li>integers and longs are zig-zag encoded varints</li>
+ * <li>floats and doubles are raw little-endian IEEE-754 values</li>
+ * <li>strings are a varint byte count, followed by UTF-8 bytes</li>
+ * <li>arrays and maps are a varint element count, followed by tagged elements, or key/value pairs</li>
+ * <li>objects are a sequence of field keys and tagged values, terminated by a zero key</li>
+ * </ul>
+ * Field names and class names are written to a name table on first use, and referenced by index after that. A
+ * field key of 0 ends an object, a key of 1 is followed by a new name, and any other key refers to the name at
+ * index (key - 2).
+ */
+final class BinaryFormat {
+
+	/** "AJB1" */
+	static final int MAGIC = 0x414a4231;
+
+	static final byte NULL = 0;
+	static final byte FALSE = 1;
+	static final byte TRUE = 2;
+	static final byte INT = 3;
+	static final byte LONG = 4;
+	static final byte FLOAT = 5;
+	static final byte DOUBLE = 6;
+	static final byte STRING = 7;
+	static final byte OBJECT = 8;
+	static final byte TYPED_OBJECT = 9;
+	static final byte ARRAY = 10;
+	static final byte MAP = 11;
+	static final byte FLOAT_ARRAY = 12;
+	static final byte DOUBLE_ARRAY = 13;
+	static final byte BYTE_ARRAY = 14;
+	/** Values of types unknown to the binary encoding, stored as JSON text. */
+	static final byte JSON = 15;
+
+	static final int END_OF_OBJECT = 0;
+	static final int NEW_NAME = 1;
+	static final int NAME_INDEX = 2;
+
+	private BinaryFormat() {
+
+	}
+
+}
@@ -0,0 +1,225 @@
+package com.badlogic.gdx.json;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static com.badlogic.gdx.json.BinaryFormat.*;
+
+/**
+ * Low-level decoder of the {@link BinaryFormat}, reading from a {@link ByteBuffer}.
+ */
+class BinaryReader {
+
+	private final ByteBuffer buffer;
+	private final Array<String> names = new Array<>(String.class);
+
+	private byte[] bytes = new byte[256];
+
+	BinaryReader(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	byte readTag() {
+		return buffer.get();
+	}
+
+	int readVarInt() {
+
+		int value = 0;
+
+		for (int shift = 0; shift < 32; shift += 7) {
+			byte b = buffer.get();
+			value |= (b & 0x7f) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+
+		throw new GdxRuntimeException("Malformed varint at offset " + buffer.position());
+	}
+
+	long readVarLong() {
+
+		long value = 0;
+
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = buffer.get();
+			value |= (long) (b & 0x7f) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+
+		throw new GdxRuntimeException("Malformed varint at offset " + buffer.position());
+	}
+
+	/**
+	 * Reads the payload of an {@link BinaryFormat#INT} value.
+	 */
+	int readInt() {
+		int value = readVarInt();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Reads the payload of a {@link BinaryFormat#LONG} value.
+	 */
+	long readLong() {
+		long value = readVarLong();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	float readFloat() {
+		return buffer.getFloat();
+	}
+
+	double readDouble() {
+		return buffer.getDouble();
+	}
+
+	String readString() {
+
+		int length = readVarInt();
+
+		if (buffer.hasArray()) {
+			int position = buffer.position();
+			buffer.position(position + length);
+			return new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+		}
+
+		if (bytes.length < length) {
+			bytes = new byte[Math.max(length, bytes.length * 2)];
+		}
+
+		buffer.get(bytes, 0, length);
+		return new String(bytes, 0, length, StandardCharsets.UTF_8);
+	}
+
+	float[] readFloats() {
+		float[] values = new float[readVarInt()];
+		buffer.asFloatBuffer().get(values);
+		buffer.position(buffer.position() + values.length * 4);
+		return values;
+	}
+
+	double[] readDoubles() {
+		double[] values = new double[readVarInt()];
+		buffer.asDoubleBuffer().get(values);
+		buffer.position(buffer.position() + values.length * 8);
+		return values;
+	}
+
+	byte[] readBytes() {
+		byte[] values = new byte[readVarInt()];
+		buffer.get(values);
+		return values;
+	}
+
+	/**
+	 * Reads a field key. Returns the field name, or null at the end of an object.
+	 */
+	String readFieldName() {
+
+		int key = readVarInt();
+
+		if (key == END_OF_OBJECT) {
+			return null;
+		}
+
+		return readName(key);
+	}
+
+	/**
+	 * Reads a class name, which is stored the same way as a field name.
+	 */
+	String readClassName() {
+		return readName(readVarInt());
+	}
+
+	/**
+	 * Skips the payload of a value of unknown type. Names found are still added to the name table.
+	 */
+	void skip(byte tag) {
+
+		switch (tag) {
+			case NULL:
+			case FALSE:
+			case TRUE:
+				break;
+			case INT:
+				readVarInt();
+				break;
+			case LONG:
+				readVarLong();
+				break;
+			case FLOAT:
+				skipBytes(4);
+				break;
+			case DOUBLE:
+				skipBytes(8);
+				break;
+			case STRING:
+			case JSON:
+			case BYTE_ARRAY:
+				skipBytes(readVarInt());
+				break;
+			case FLOAT_ARRAY:
+				skipBytes(readVarInt() * 4);
+				break;
+			case DOUBLE_ARRAY:
+				skipBytes(readVarInt() * 8);
+				break;
+			case TYPED_OBJECT:
+				readClassName();
+				skipFields();
+				break;
+			case OBJECT:
+				skipFields();
+				break;
+			case ARRAY:
+				for (int i = readVarInt(); i > 0; i--) {
+					skip(readTag());
+				}
+				break;
+			case MAP:
+				for (int i = readVarInt(); i > 0; i--) {
+					skip(readTag());
+					skip(readTag());
+				}
+				break;
+			default:
+				throw new GdxRuntimeException("Unknown tag " + tag + " at offset " + (buffer.position() - 1));
+		}
+	}
+
+	private void skipFields() {
+		while (readFieldName() != null) {
+			skip(readTag());
+		}
+	}
+
+	private String readName(int key) {
+
+		if (key == NEW_NAME) {
+			String name = readString();
+			names.add(name);
+			return name;
+		}
+
+		int index = key - NAME_INDEX;
+
+		if (index < 0 || index >= names.size) {
+			throw new GdxRuntimeException("Invalid name reference at offset " + buffer.position());
+		}
+
+		return names.get(index);
+	}
+
+	private void skipBytes(int count) {
+		buffer.position(buffer.position() + count);
+	}
+
+}
@@ -0,0 +1,189 @@
+package com.badlogic.gdx.json;
+
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static com.badlogic.gdx.json.BinaryFormat.*;
+
+/**
+ * Low-level encoder of the {@link BinaryFormat}, writing to a {@link ByteBuffer}.
+ * <p>
+ * If created as growable, the buffer is replaced by a larger one if needed. Otherwise, writing past the end of
+ * the buffer throws a {@link java.nio.BufferOverflowException}.
+ */
+class BinaryWriter {
+
+	private ByteBuffer buffer;
+	private final boolean growable;
+
+	private final ObjectIntMap<String> names = new ObjectIntMap<>();
+
+	BinaryWriter(ByteBuffer buffer, boolean growable) {
+		this.buffer = buffer;
+		this.growable = growable;
+	}
+
+	ByteBuffer buffer() {
+		return buffer;
+	}
+
+	void writeTag(byte tag) {
+		ensure(1);
+		buffer.put(tag);
+	}
+
+	void writeVarInt(int value) {
+
+		ensure(5);
+
+		while ((value & ~0x7f) != 0) {
+			buffer.put((byte) ((value & 0x7f) | 0x80));
+			value >>>= 7;
+		}
+
+		buffer.put((byte) value);
+	}
+
+	void writeVarLong(long value) {
+
+		ensure(10);
+
+		while ((value & ~0x7fL) != 0) {
+			buffer.put((byte) ((value & 0x7f) | 0x80));
+			value >>>= 7;
+		}
+
+		buffer.put((byte) value);
+	}
+
+	void writeInt(int value) {
+		writeTag(INT);
+		writeVarInt((value << 1) ^ (value >> 31));
+	}
+
+	void writeLong(long value) {
+		writeTag(LONG);
+		writeVarLong((value << 1) ^ (value >> 63));
+	}
+
+	void writeFloat(float value) {
+		ensure(5);
+		buffer.put(FLOAT);
+		buffer.putFloat(value);
+	}
+
+	void writeDouble(double value) {
+		ensure(9);
+		buffer.put(DOUBLE);
+		buffer.putDouble(value);
+	}
+
+	void writeBoolean(boolean value) {
+		writeTag(value ? TRUE : FALSE);
+	}
+
+	void writeString(String value) {
+		writeTag(STRING);
+		writeStringPayload(value);
+	}
+
+	void writeJson(String value) {
+		writeTag(JSON);
+		writeStringPayload(value);
+	}
+
+	void writeFloats(float[] values) {
+		writeTag(FLOAT_ARRAY);
+		writeVarInt(values.length);
+		ensure(values.length * 4);
+		buffer.asFloatBuffer().put(values);
+		buffer.position(buffer.position() + values.length * 4);
+	}
+
+	void writeDoubles(double[] values) {
+		writeTag(DOUBLE_ARRAY);
+		writeVarInt(values.length);
+		ensure(values.length * 8);
+		buffer.asDoubleBuffer().put(values);
+		buffer.position(buffer.position() + values.length * 8);
+	}
+
+	void writeBytes(byte[] values) {
+		writeTag(BYTE_ARRAY);
+		writeVarInt(values.length);
+		ensure(values.length);
+		buffer.put(values);
+	}
+
+	/**
+	 * Writes a field or class name, either as a reference into the name table, or as a new entry.
+	 */
+	void writeName(String name) {
+
+		int index = names.get(name, -1);
+
+		if (index >= 0) {
+			writeVarInt(index + NAME_INDEX);
+			return;
+		}
+
+		names.put(name, names.size);
+
+		writeVarInt(NEW_NAME);
+		writeStringPayload(name);
+	}
+
+	void writeEndOfObject() {
+		writeVarInt(END_OF_OBJECT);
+	}
+
+	private void writeStringPayload(String value) {
+
+		int length = value.length();
+		int start = buffer.position();
+
+		// fast path for ASCII strings, where the number of bytes equals the number of characters
+		writeVarInt(length);
+		ensure(length);
+
+		for (int i = 0; i < length; i++) {
+
+			char c = value.charAt(i);
+
+			if (c >= 0x80) {
+				buffer.position(start);
+				byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+				writeVarInt(bytes.length);
+				ensure(bytes.length);
+				buffer.put(bytes);
+				return;
+			}
+
+			buffer.put((byte) c);
+		}
+	}
+
+	private void ensure(int bytes) {
+
+		if (!growable || buffer.remaining() >= bytes) {
+			return;
+		}
+
+		int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+
+		ByteBuffer larger = buffer.isDirect()
+				? ByteBuffer.allocateDirect(capacity)
+				: ByteBuffer.allocate(capacity);
+
+		larger.order(ByteOrder.LITTLE_ENDIAN);
+
+		buffer.flip();
+		larger.put(buffer);
+
+		buffer = larger;
+	}
+
+}
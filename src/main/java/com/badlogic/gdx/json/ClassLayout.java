@@ -0,0 +1,338 @@
+package com.badlogic.gdx.json;
+
+import com.badlogic.gdx.json.annotations.*;
+import com.badlogic.gdx.utils.*;
+import com.badlogic.gdx.utils.reflect.*;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serialization info of a class annotated with {@link JsonSerializable}: its fields, their annotations, accessors
+ * and container serializers, and a default constructor.
+ * <p>
+ * Layouts are immutable. They are built once per class, and cached globally, so they can be shared by all
+ * serializers, {@link Json} instances and threads.
+ * <p>
+ * Field names can be looked up straight from a character buffer, using a hash table built on construction.
+ */
+class ClassLayout {
+
+	private static final ConcurrentHashMap<Class<?>, Optional<ClassLayout>> layouts = new ConcurrentHashMap<>();
+
+	final Class<?> clazz;
+	final JsonSerializable annotation;
+	final FieldLayout[] fields;
+	final boolean callbacks;
+
+	/** True if any field needs to be initialized if it's not part of the data read. */
+	final boolean hasMissingFieldDefaults;
+
+	/** Annotated types of fields, and of container components, which need serializers as well. */
+	final Class<?>[] nestedTypes;
+
+	private final int[] table;
+	private final int mask;
+
+	private final java.lang.reflect.Constructor<?> constructor;
+
+	private ClassLayout(Class<?> clazz, JsonSerializable annotation) {
+
+		this.clazz = clazz;
+		this.annotation = annotation;
+
+		Array<FieldLayout> fields = new Array<>(FieldLayout.class);
+		collectFields(clazz, annotation, fields);
+
+		this.fields = fields.toArray();
+
+		int capacity = Integer.highestOneBit(Math.max(this.fields.length, 1) * 4 - 1) << 1;
+		table = new int[capacity];
+		mask = capacity - 1;
+
+		boolean hasMissingFieldDefaults = false;
+		Array<Class<?>> nestedTypes = new Array<>();
+
+		for (int i = 0; i < this.fields.length; i++) {
+
+			FieldLayout field = this.fields[i];
+
+			int slot = field.name.hashCode() & mask;
+			while (table[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			table[slot] = i + 1;
+
+			hasMissingFieldDefaults |= field.createIfNull || field.array != null || field.map != null;
+
+			if (field.array != null) {
+				addNestedType(field.array.value(), nestedTypes);
+			} else if (field.map != null) {
+				addNestedType(field.map.key(), nestedTypes);
+				addNestedType(field.map.value(), nestedTypes);
+			} else if (field.lazy != null) {
+				addNestedType(field.lazy.value(), nestedTypes);
+			} else {
+				addNestedType(field.componentType, nestedTypes);
+			}
+		}
+
+		this.hasMissingFieldDefaults = hasMissingFieldDefaults;
+		this.nestedTypes = nestedTypes.toArray(Class.class);
+
+		callbacks = AnnotatedJsonObject.class.isAssignableFrom(clazz);
+
+		java.lang.reflect.Constructor<?> constructor = null;
+
+		try {
+			constructor = clazz.getDeclaredConstructor();
+			constructor.setAccessible(true);
+		} catch (NoSuchMethodException | SecurityException ignored) {
+			// reported when an instance is created
+		}
+
+		this.constructor = constructor;
+	}
+
+	/**
+	 * Returns the (cached) layout of the class, or null if it isn't annotated.
+	 */
+	static ClassLayout of(Class<?> clazz) {
+
+		Optional<ClassLayout> layout = layouts.get(clazz);
+
+		if (layout == null) {
+			// may be built more than once if called concurrently, but that's harmless
+			layout = Optional.ofNullable(create(clazz));
+			layouts.putIfAbsent(clazz, layout);
+		}
+
+		return layout.orElse(null);
+	}
+
+	/**
+	 * Same as {@link ClassLayout#of(Class)}, but throws an exception if the class isn't annotated.
+	 */
+	static ClassLayout ofAnnotated(Class<?> clazz) {
+
+		ClassLayout layout = of(clazz);
+
+		if (layout == null) {
+			throw new GdxRuntimeException("Missing @JsonSerializable annotation for '" + clazz.getName() + "'.");
+		}
+
+		return layout;
+	}
+
+	private static ClassLayout create(Class<?> clazz) {
+
+		Annotation annotation = AnnotatedJsonSerializer.findAnnotation(clazz, JsonSerializable.class);
+
+		if (annotation == null) {
+			return null;
+		}
+
+		return new ClassLayout(clazz, annotation.getAnnotation(JsonSerializable.class));
+	}
+
+	Object newInstance() {
+
+		if (constructor == null) {
+			throw new GdxRuntimeException("No default constructor for '" + clazz.getName() + "'.");
+		}
+
+		try {
+			return constructor.newInstance();
+		} catch (ReflectiveOperationException e) {
+			throw new GdxRuntimeException(e);
+		}
+	}
+
+	int indexOf(String name) {
+		return indexOf(name, 0, name.length());
+	}
+
+	/**
+	 * Returns the index of the field with the given name, or -1 if there is none.
+	 */
+	int indexOf(CharSequence name, int offset, int length) {
+
+		int hash = 0;
+
+		for (int i = 0; i < length; i++) {
+			hash = 31 * hash + name.charAt(offset + i);
+		}
+
+		for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+
+			int index = table[slot] - 1;
+
+			if (index < 0) {
+				return -1;
+			}
+
+			String fieldName = fields[index].name;
+
+			if (fieldName.length() == length && regionMatches(fieldName, name, offset, length)) {
+				return index;
+			}
+		}
+	}
+
+	/**
+	 * Initializes fields which have not been part of the data read, the same way {@link AnnotatedJsonSerializer}
+	 * does: default instances are created for annotated types, and containers are replaced by empty ones.
+	 */
+	void setMissingFieldDefaults(Object object, boolean[] found) {
+
+		for (int i = 0; i < fields.length; i++) {
+
+			if (found[i]) {
+				continue;
+			}
+
+			FieldLayout field = fields[i];
+
+			if (field.createIfNull) {
+				field.accessor.set(object, field.newDefaultInstance());
+			} else if (field.array != null) {
+				field.accessor.set(object, field.newArray(0));
+			} else if (field.map != null) {
+				Object value = field.accessor.get(object);
+				if (!isEmptyMap(value)) {
+					field.accessor.set(object, field.newMap(0));
+				}
+			}
+		}
+	}
+
+	private static void addNestedType(Class<?> type, Array<Class<?>> nestedTypes) {
+		if (ClassReflection.isAnnotationPresent(type, JsonSerializable.class) && !nestedTypes.contains(type, true)) {
+			nestedTypes.add(type);
+		}
+	}
+
+	private static boolean isEmptyMap(Object map) {
+		if (map instanceof Map) {
+			return ((Map<?, ?>) map).isEmpty();
+		} else if (map instanceof ObjectMap) {
+			return ((ObjectMap<?, ?>) map).size == 0;
+		}
+		return false;
+	}
+
+	private static boolean regionMatches(String s, CharSequence name, int offset, int length) {
+		for (int i = 0; i < length; i++) {
+			if (s.charAt(i) != name.charAt(offset + i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void collectFields(Class<?> clazz, JsonSerializable annotation, Array<FieldLayout> fields) {
+
+		for (Field field : ClassReflection.getDeclaredFields(clazz)) {
+			if (field.isAnnotationPresent(JsonSerialize.class)) {
+				fields.add(new FieldLayout(field, annotation));
+			}
+		}
+
+		clazz = clazz.getSuperclass();
+
+		if (clazz != null && AnnotatedJsonSerializer.findAnnotation(clazz, JsonSerializable.class) != null) {
+			collectFields(clazz, annotation, fields);
+		}
+	}
+
+	static class FieldLayout {
+
+		final String name;
+		final Class<?> type;
+		final Class<?> componentType;
+		final JsonSerialize annotation;
+		final JsonArray array;
+		final JsonMap map;
+		final JsonLazy lazy;
+		final FieldAccessor accessor;
+		final boolean createIfNull;
+
+		/** Serializer of a field annotated with {@link JsonArray} or {@link JsonMap}, or null. */
+		final Json.Serializer<?> containerSerializer;
+
+		FieldLayout(Field field, JsonSerializable classAnnotation) {
+
+			type = field.getType();
+			componentType = type.isArray() ? type.getComponentType() : type;
+			annotation = field.getDeclaredAnnotation(JsonSerialize.class).getAnnotation(JsonSerialize.class);
+			name = annotation.name().isEmpty() ? field.getName() : annotation.name();
+			array = annotation.array().length > 0 ? annotation.array()[0] : null;
+			map = annotation.map().length > 0 ? annotation.map()[0] : null;
+			lazy = annotation.lazy().length > 0 ? annotation.lazy()[0] : null;
+			accessor = FieldAccessor.create(field);
+
+			createIfNull = !classAnnotation.writeNull()
+					&& annotation.createIfNull()
+					&& array == null && map == null
+					&& ClassReflection.isAnnotationPresent(type, JsonSerializable.class);
+
+			if (array != null) {
+
+				if (!Array.class.isAssignableFrom(array.array())) {
+					throw new GdxRuntimeException("Container type must derive from Array<?>!");
+				}
+
+				containerSerializer = new JsonArraySerializer<>(name, array);
+
+			} else if (map != null) {
+
+				if (!Map.class.isAssignableFrom(map.map()) && !ObjectMap.class.isAssignableFrom(map.map())) {
+					throw new GdxRuntimeException("Container type must derive from Map<?, ?> or ObjectMap<?, ?>!");
+				}
+
+				containerSerializer = new JsonMapSerializer<>(name, map);
+
+			} else {
+				containerSerializer = null;
+			}
+
+			if (lazy != null && type != LazyValue.class) {
+				throw new GdxRuntimeException("Field type must be LazyValue<?>!");
+			}
+		}
+
+		/**
+		 * Creates the container for a field annotated with {@link JsonArray}.
+		 */
+		@SuppressWarnings("unchecked")
+		Array<Object> newArray(int capacity) {
+
+			Array<Object> values;
+
+			try {
+				values = (Array<Object>) ClassReflection.newInstance(array.array());
+			} catch (ReflectionException e) {
+				throw new GdxRuntimeException(e);
+			}
+
+			values.items = (Object[]) ArrayReflection.newInstance(array.value(), capacity);
+			values.ordered = array.ordered();
+
+			return values;
+		}
+
+		/**
+		 * Creates the container for a field annotated with {@link JsonMap}, presized to hold the given number of
+		 * entries. This is either a {@link Map}, or an {@link ObjectMap}.
+		 */
+		Object newMap(int capacity) {
+			return ((JsonMapSerializer<?, ?>) containerSerializer).newMap(capacity);
+		}
+
+		Object newDefaultInstance() {
+			return ofAnnotated(type).newInstance();
+		}
+	}
+
+}
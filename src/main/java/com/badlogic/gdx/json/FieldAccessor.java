@@ -0,0 +1,122 @@
+package com.badlogic.gdx.json;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.reflect.Field;
+
+/**
+ * Typed getter and setter for a single field, built once per {@link AnnotatedJsonSerializer}.
+ * <p>
+ * The field is made accessible when the accessor is created, instead of toggling accessibility for each call, as
+ * {@link Field} does. Primitive fields are accessed with the typed functions of {@link java.lang.reflect.Field},
+ * without boxing.
+ */
+class FieldAccessor {
+
+	private final java.lang.reflect.Field field;
+
+	private FieldAccessor(java.lang.reflect.Field field) {
+		this.field = field;
+	}
+
+	static FieldAccessor create(Field field) {
+
+		try {
+			java.lang.reflect.Field javaField = field.getDeclaringClass().getDeclaredField(field.getName());
+			javaField.setAccessible(true);
+			return new FieldAccessor(javaField);
+		} catch (NoSuchFieldException | SecurityException e) {
+			throw new GdxRuntimeException("Failed to access field " + field.getName(), e);
+		}
+	}
+
+	int getInt(Object instance) {
+		try {
+			return field.getInt(instance);
+		} catch (IllegalAccessException | IllegalArgumentException e) {
+			throw error(e);
+		}
+	}
+
+	void setInt(Object instance, int value) {
+		try {
+			field.setInt(instance, value);
+		} catch (IllegalAccessException | IllegalArgumentException e) {
+			throw error(e);
+		}
+	}
+
+	float getFloat(Object instance) {
+		try {
+			return field.getFloat(instance);
+		} catch (IllegalAccessException | IllegalArgumentException e) {
+			throw error(e);
+		}
+	}
+
+	void setFloat(Object instance, float value) {
+		try {
+			field.setFloat(instance, value);
+		} catch (IllegalAccessException | IllegalArgumentException e) {
+			throw error(e);
+		}
+	}
+
+	double getDouble(Object instance) {
+		try {
+			return field.getDouble(instance);
+		} catch (IllegalAccessException | IllegalArgumentException e) {
+			throw error(e);
+		}
+	}
+
+	void setDouble(Object instance, double value) {
+		try {
+			field.setDouble(instance, value);
+		} catch (IllegalAccessException | IllegalArgumentException e) {
+			throw error(e);
+		}
+	}
+
+	boolean getBoolean(Object instance) {
+		try {
+			return field.getBoolean(instance);
+		} catch (IllegalAccessException | IllegalArgumentException e) {
+			throw error(e);
+		}
+	}
+
+	void setBoolean(Object instance, boolean value) {
+		try {
+			field.setBoolean(instance, value);
+		} catch (IllegalAccessException | IllegalArgumentException e) {
+			throw error(e);
+		}
+	}
+
+	/**
+	 * Returns the field value, boxed if the field is of primitive type.
+	 */
+	Object get(Object instance) {
+		try {
+			return field.get(instance);
+		} catch (IllegalAccessException | IllegalArgumentException e) {
+			throw error(e);
+		}
+	}
+
+	/**
+	 * Sets the field value, unboxing it if the field is of primitive type.
+	 */
+	void set(Object instance, Object value) {
+		try {
+			field.set(instance, value);
+		} catch (IllegalAccessException | IllegalArgumentException e) {
+			throw error(e);
+		}
+	}
+
+	private GdxRuntimeException error(Exception e) {
+		return new GdxRuntimeException("Failed to access field " + field.getName(), e);
+	}
+
+}
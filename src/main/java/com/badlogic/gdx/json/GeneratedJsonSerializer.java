@@ -0,0 +1,296 @@
+package com.badlogic.gdx.json;
+
+import com.badlogic.gdx.function.Supplier;
+import com.badlogic.gdx.json.annotations.JsonSerializable;
+import com.badlogic.gdx.utils.*;
+import com.badlogic.gdx.utils.reflect.*;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base class of serializers generated at compile time by
+ * {@link com.badlogic.gdx.json.processor.JsonSerializerProcessor}.
+ * <p>
+ * Generated serializers access fields directly, and don't use reflection to read or write objects. They are
+ * picked up by {@link AnnotatedJson} in place of {@link AnnotatedJsonSerializer}, if present on the class path.
+ * <p>
+ * The protected functions in this class are helpers for generated code, and not meant to be called otherwise.
+ */
+public abstract class GeneratedJsonSerializer<T> implements Json.Serializer<T> {
+
+	static final String CLASS_SUFFIX = "_JsonSerializer";
+
+	private static final Map<Class<?>, Optional<java.lang.reflect.Constructor<?>>> constructors =
+			new ConcurrentHashMap<>();
+
+	private final Class<T> clazz;
+
+	private final Array<JsonArraySerializer<?>> arrays = new Array<>(JsonArraySerializer.class);
+	private final Array<JsonMapSerializer<?, ?>> maps = new Array<>(JsonMapSerializer.class);
+
+	private Supplier<T> instanceProvider;
+
+	protected GeneratedJsonSerializer(Json json, Class<T> clazz) {
+		this.clazz = clazz;
+		// register self first, to terminate recursion on self-referencing types
+		json.setSerializer(clazz, this);
+	}
+
+	/**
+	 * Creates an instance of the serializer generated for the given class, or returns null if there is none.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> Json.Serializer<T> create(Json json, Class<T> clazz) {
+
+		Optional<java.lang.reflect.Constructor<?>> constructor = constructors.computeIfAbsent(clazz, c -> {
+			String name = c.getName().replace('$', '_') + CLASS_SUFFIX;
+			try {
+				Class<?> generated = Class.forName(name, true, c.getClassLoader());
+				if (GeneratedJsonSerializer.class.isAssignableFrom(generated)) {
+					return Optional.of(generated.getConstructor(Json.class));
+				}
+			} catch (ClassNotFoundException | NoSuchMethodException ignored) {
+
+			}
+			return Optional.empty();
+		});
+
+		if (!constructor.isPresent()) {
+			return null;
+		}
+
+		try {
+			return (Json.Serializer<T>) constructor.get().newInstance(json);
+		} catch (ReflectiveOperationException e) {
+			throw new GdxRuntimeException("Failed to create serializer for " + clazz.getName(), e);
+		}
+	}
+
+	/**
+	 * Registers a serializer for the given class, if it's annotated and doesn't have one already.
+	 */
+	protected static void register(Json json, Class<?> clazz) {
+		if (json.getSerializer(clazz) == null && ClassReflection.isAnnotationPresent(clazz, JsonSerializable.class)) {
+			AnnotatedJson.register(json, clazz);
+		}
+	}
+
+	/**
+	 * Sets a function which provides instances to read into, e.g. a {@link Pool}. If the function returns null,
+	 * a new instance is created.
+	 * <p>
+	 * Provided instances are read in place: fields missing from the data are reset to their defaults, and nested
+	 * objects and containers are reused, the same way as with {@link #readInto(Json, JsonValue, Object)}.
+	 */
+	public void setInstanceProvider(Supplier<T> instanceProvider) {
+		this.instanceProvider = instanceProvider;
+	}
+
+	/**
+	 * Reads into an existing object, instead of creating a new one, the same way as
+	 * {@link AnnotatedJsonSerializer#readInto(Json, JsonValue, Object)} does.
+	 * <p>
+	 * Returns the object passed, or a new instance if the object is of a different type.
+	 */
+	public T readInto(Json json, JsonValue jsonData, T object) {
+
+		if (object == null || object.getClass() != clazz) {
+			return read(json, jsonData, clazz);
+		}
+
+		return readInPlace(json, jsonData, object);
+	}
+
+	/**
+	 * Reads into the object passed. Fields which are missing from the data are reset.
+	 */
+	protected abstract T readInPlace(Json json, JsonValue jsonData, T object);
+
+	/**
+	 * Returns an instance from the instance provider, or null if there is none.
+	 */
+	protected T obtainInstance() {
+		return instanceProvider != null ? instanceProvider.get() : null;
+	}
+
+	protected static <V> V newInstance(Class<V> clazz) {
+		try {
+			return ClassReflection.newInstance(clazz);
+		} catch (ReflectionException e) {
+			throw new GdxRuntimeException(e);
+		}
+	}
+
+	/**
+	 * Adds a serializer for a field annotated with {@link com.badlogic.gdx.json.annotations.JsonArray}. Returns
+	 * its index, to be passed to {@link GeneratedJsonSerializer#writeArray(Json, int, Array, boolean)} and
+	 * {@link GeneratedJsonSerializer#readArray(Json, JsonValue, int)}.
+	 */
+	protected int addArray(Json json, String name, Class<?> arrayType, Class<?> valueType, boolean ordered) {
+		return addArray(json, name, arrayType, valueType, ordered, false);
+	}
+
+	protected int addArray(Json json, String name, Class<?> arrayType, Class<?> valueType,
+						   boolean ordered, boolean parallel) {
+
+		if (!Array.class.isAssignableFrom(arrayType)) {
+			throw new GdxRuntimeException("Container type must derive from Array<?>!");
+		}
+
+		register(json, valueType);
+
+		arrays.add(new JsonArraySerializer<>(name, arrayType, valueType, ordered, parallel));
+		return arrays.size - 1;
+	}
+
+	protected void writeArray(Json json, int index, Array<?> array, boolean writeNull) {
+
+		JsonArraySerializer<?> serializer = arrays.get(index);
+
+		if (array != null) {
+			if (array.size > 0) {
+				serializer.write(json, array, Array.class);
+			}
+		} else if (writeNull) {
+			json.writeValue(serializer.name, (Array) null, Array.class);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	protected <A extends Array<?>> A readArray(Json json, JsonValue jsonData, int index) {
+		return (A) arrays.get(index).read(json, jsonData, Array.class);
+	}
+
+	/**
+	 * Reads into the current array if it's of the annotated container type, or reads a new array otherwise.
+	 */
+	@SuppressWarnings("unchecked")
+	protected <A extends Array<?>> A readArrayInPlace(Json json, JsonValue jsonData, int index, A oldValue) {
+
+		JsonArraySerializer<Object> serializer = (JsonArraySerializer<Object>) arrays.get(index);
+
+		if (oldValue != null && oldValue.getClass() == serializer.arrayType) {
+			serializer.readInto(json, jsonData, (Array<Object>) oldValue);
+			return oldValue;
+		}
+
+		return readArray(json, jsonData, index);
+	}
+
+	/**
+	 * Adds a serializer for a field annotated with {@link com.badlogic.gdx.json.annotations.JsonMap}. Returns
+	 * its index, to be passed to {@link GeneratedJsonSerializer#writeMap(Json, int, Object, boolean)} and
+	 * {@link GeneratedJsonSerializer#readMap(Json, JsonValue, int, Object)}.
+	 */
+	protected int addMap(Json json, String name, Class<?> mapType, Class<?> keyType, Class<?> valueType) {
+		return addMap(json, name, mapType, keyType, valueType, false);
+	}
+
+	protected int addMap(Json json, String name, Class<?> mapType, Class<?> keyType, Class<?> valueType,
+						 boolean compact) {
+
+		if (!Map.class.isAssignableFrom(mapType) && !ObjectMap.class.isAssignableFrom(mapType)) {
+			throw new GdxRuntimeException("Container type must derive from Map<?, ?> or ObjectMap<?, ?>!");
+		}
+
+		register(json, keyType);
+		register(json, valueType);
+
+		maps.add(new JsonMapSerializer<>(name, mapType, keyType, valueType, compact));
+		return maps.size - 1;
+	}
+
+	protected void writeMap(Json json, int index, Object map, boolean writeNull) {
+
+		JsonMapSerializer<?, ?> serializer = maps.get(index);
+
+		if (map instanceof Map) {
+			Map<?, ?> value = (Map<?, ?>) map;
+			if (value.size() > 0) {
+				serializer.write(json, value.entrySet(), Map.Entry::getKey, Map.Entry::getValue);
+			}
+		} else if (map instanceof ObjectMap) {
+			ObjectMap<?, ?> value = (ObjectMap<?, ?>) map;
+			if (value.size > 0) {
+				serializer.write(json, value.entries(), e -> e.key, e -> e.value);
+			}
+		} else if (map == null && writeNull) {
+			json.writeValue(serializer.name, (Object) null, serializer.mapType);
+		}
+	}
+
+	/**
+	 * Reads a map. Returns the old value if both the old and the new map are empty.
+	 */
+	@SuppressWarnings("unchecked")
+	protected <M> M readMap(Json json, JsonValue jsonData, int index, M oldValue) {
+
+		JsonMapSerializer<?, ?> serializer = maps.get(index);
+
+		if (Map.class.isAssignableFrom(serializer.mapType)) {
+			Map<?, ?> value = serializer.read(json, jsonData);
+			Map<?, ?> old = (Map<?, ?>) oldValue;
+			return old != null && old.size() == 0 && value.size() == 0 ? oldValue : (M) value;
+		} else {
+			ObjectMap<?, ?> value = serializer.read(json, jsonData, ObjectMap::new, ObjectMap::put);
+			ObjectMap<?, ?> old = (ObjectMap<?, ?>) oldValue;
+			return old != null && old.size == 0 && value.size == 0 ? oldValue : (M) value;
+		}
+	}
+
+	/**
+	 * Clears and refills the current map, or reads a new map if there is none.
+	 */
+	@SuppressWarnings("unchecked")
+	protected <M> M readMapInPlace(Json json, JsonValue jsonData, int index, M oldValue) {
+
+		JsonMapSerializer<Object, Object> serializer = (JsonMapSerializer<Object, Object>) maps.get(index);
+
+		if (oldValue instanceof Map) {
+			Map<Object, Object> old = (Map<Object, Object>) oldValue;
+			serializer.read(json, jsonData, size -> {
+				old.clear();
+				return old;
+			}, Map::put);
+			return oldValue;
+		} else if (oldValue instanceof ObjectMap) {
+			ObjectMap<Object, Object> old = (ObjectMap<Object, Object>) oldValue;
+			serializer.read(json, jsonData, size -> {
+				old.clear();
+				old.ensureCapacity(size);
+				return old;
+			}, ObjectMap::put);
+			return oldValue;
+		}
+
+		return readMap(json, jsonData, index, oldValue);
+	}
+
+	/**
+	 * Reads a value into the current one, if both are of an annotated type, or reads a new value otherwise.
+	 * Returns null if there is no data.
+	 */
+	protected Object readValueInPlace(Json json, JsonValue jsonData, String name, Class<?> type,
+									  Class<?> elementType, Object current) {
+		return AnnotatedJsonSerializer.readInPlace(json, jsonData.get(name), type, elementType, current);
+	}
+
+	/**
+	 * Writes a field annotated with {@link com.badlogic.gdx.json.annotations.JsonLazy}.
+	 */
+	protected void writeLazy(Json json, String name, LazyValue<?> value, Class<?> type, boolean writeNull) {
+		LazyValue.write(json, name, value, type, writeNull);
+	}
+
+	/**
+	 * Reads a field annotated with {@link com.badlogic.gdx.json.annotations.JsonLazy}. Returns the old value if
+	 * there is no data.
+	 */
+	protected <V> LazyValue<V> readLazy(Json json, JsonValue jsonData, String name, Class<?> type,
+										LazyValue<V> oldValue) {
+		return LazyValue.read(json, jsonData, name, type, oldValue);
+	}
+
+}
@@ -1,31 +1,75 @@
 package com.badlogic.gdx.json;
 
+import com.badlogic.gdx.concurrent.AsyncTaskExecutor;
+import com.badlogic.gdx.concurrent.ThreadLocalInstance;
+import com.badlogic.gdx.function.Function;
+import com.badlogic.gdx.function.Supplier;
 import com.badlogic.gdx.json.annotations.JsonArray;
 import com.badlogic.gdx.utils.*;
 import com.badlogic.gdx.utils.reflect.ArrayReflection;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
 /**
  * Implementation of {@link com.badlogic.gdx.utils.Json.Serializer} to serialize {@link Array} containers.
  * <p>
  * This is used internally by {@link AnnotatedJsonSerializer}.
+ * <p>
+ * Arrays of fields annotated with {@link JsonArray#parallel()} are split into ranges of elements, which are
+ * processed by an {@link AsyncTaskExecutor}. On write, each range is serialized to a separate buffer, and the
+ * buffers are concatenated in order. On read, elements are stored into a presized array.
+ * <p>
+ * The executor is set per {@link Json} instance. Instances of this class are shared by all Json instances through
+ * {@link ClassLayout}, so they don't store it themselves.
  */
 class JsonArraySerializer<V> implements Json.Serializer<Array<?>> {
 
-	private String name;
-	private JsonArray array;
+	/** Number of elements processed by each parallel job. */
+	private static final int PARALLEL_RANGE_SIZE = 4096;
+
+	final String name;
+	final Class<?> arrayType;
+	private Class<?> valueType;
+	private boolean ordered;
+	private boolean parallel;
 
 	JsonArraySerializer(String name, JsonArray array) {
+		this(name, array.array(), array.value(), array.ordered(), array.parallel());
+	}
+
+	JsonArraySerializer(String name, Class<?> arrayType, Class<?> valueType, boolean ordered, boolean parallel) {
 		this.name = name;
-		this.array = array;
+		this.arrayType = arrayType;
+		this.valueType = valueType;
+		this.ordered = ordered;
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Attaches the executor to the {@link Json} instance. It's stored as the serializer of {@link ParallelContext},
+	 * which is never serialized otherwise, so it's dropped along with the Json instance.
+	 */
+	static void setParallelExecutor(Json json, AsyncTaskExecutor executor, Supplier<Json> newJson) {
+		json.setSerializer(ParallelContext.class, executor != null ? new ParallelContext(executor, newJson) : null);
 	}
 
 	@Override
 	public void write(Json json, Array<?> object, Class knownType) {
 
+		ParallelContext context = getParallelContext(json, object.size);
+
+		if (context != null) {
+			writeParallel(json, object, context);
+			return;
+		}
+
 		json.writeArrayStart(name);
 
 		for (int i = 0; i < object.size; i++) {
-			json.writeValue(object.get(i), array.value());
+			json.writeValue(object.get(i), valueType);
 		}
 
 		json.writeArrayEnd();
@@ -52,19 +96,26 @@ class JsonArraySerializer<V> implements Json.Serializer<Array<?>> {
 
 		try {
 
-			V[] items = (V[]) ArrayReflection.newInstance(array.value(), size);
+			V[] items = (V[]) ArrayReflection.newInstance(valueType, size);
 
-			values = (Array<V>) array.array().newInstance();
+			values = (Array<V>) arrayType.newInstance();
 			values.items = items;
-			values.ordered = array.ordered();
+			values.ordered = ordered;
 
 		} catch (ClassCastException | InstantiationException | IllegalAccessException e) {
 			throw new GdxRuntimeException(e);
 		}
 
+		ParallelContext context = getParallelContext(json, size);
+
+		if (context != null) {
+			readParallel(entry, values, size, context);
+			return values;
+		}
+
 		while (entry != null) {
 
-			V value = json.readValue((Class<V>) array.value(), entry);
+			V value = json.readValue((Class<V>) valueType, entry);
 
 			values.add(value);
 
@@ -74,4 +125,183 @@ class JsonArraySerializer<V> implements Json.Serializer<Array<?>> {
 		return values;
 	}
 
+	/**
+	 * Reads into an existing array, updating elements in place where possible. Elements are always read
+	 * sequentially.
+	 *
+	 * @see AnnotatedJsonSerializer#readInto(Json, JsonValue, Object)
+	 */
+	@SuppressWarnings("unchecked")
+	void readInto(Json json, JsonValue jsonData, Array<V> values) {
+
+		JsonValue entry = jsonData.getChild(name);
+
+		int size = 0;
+		for (JsonValue e = entry; e != null; e = e.next) {
+			size++;
+		}
+
+		if (size < values.size) {
+			values.truncate(size);
+		} else {
+			values.ensureCapacity(size - values.size);
+		}
+
+		V[] items = values.items;
+
+		for (int i = 0; i < size; i++, entry = entry.next) {
+			V current = i < values.size ? items[i] : null;
+			items[i] = (V) AnnotatedJsonSerializer.readInPlace(json, entry, valueType, null, current);
+		}
+
+		values.size = size;
+	}
+
+	/**
+	 * Returns the parallel context of the {@link Json} instance, or null if the array is to be processed
+	 * sequentially. This is always the case on one of the executor's threads, which must not wait for other jobs
+	 * of the same executor.
+	 */
+	private ParallelContext getParallelContext(Json json, int size) {
+
+		if (!parallel || size < 2 * PARALLEL_RANGE_SIZE) {
+			return null;
+		}
+
+		ParallelContext context = (ParallelContext) json.getSerializer(ParallelContext.class);
+
+		if (context == null || context.executor.isWorkerThread()) {
+			return null;
+		}
+
+		return context;
+	}
+
+	private void writeParallel(Json json, Array<?> object, ParallelContext context) {
+
+		Array<FutureTask<String>> tasks = new Array<>();
+
+		for (int start = 0; start < object.size; start += PARALLEL_RANGE_SIZE) {
+
+			int from = start;
+			int to = Math.min(start + PARALLEL_RANGE_SIZE, object.size);
+
+			FutureTask<String> task = new FutureTask<>(() -> context.run(workerJson -> writeRange(workerJson, object, from, to)));
+			context.executor.executeJob(task);
+			tasks.add(task);
+		}
+
+		json.writeArrayStart(name);
+
+		try {
+			JsonWriter writer = json.getWriter();
+			for (FutureTask<String> task : tasks) {
+				writer.json(await(task));
+			}
+		} catch (IOException e) {
+			throw new SerializationException(e);
+		}
+
+		json.writeArrayEnd();
+	}
+
+	/**
+	 * Serializes a range of elements, separated by commas, but without the enclosing brackets.
+	 */
+	private String writeRange(Json json, Array<?> object, int from, int to) {
+
+		StringWriter buffer = new StringWriter(64 * (to - from));
+		json.setWriter(buffer);
+
+		json.writeArrayStart();
+
+		for (int i = from; i < to; i++) {
+			json.writeValue(object.get(i), valueType);
+		}
+
+		json.writeArrayEnd();
+
+		return buffer.getBuffer().substring(1, buffer.getBuffer().length() - 1);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readParallel(JsonValue entry, Array<V> values, int size, ParallelContext context) {
+
+		Array<FutureTask<Void>> tasks = new Array<>();
+		V[] items = values.items;
+
+		for (int start = 0; start < size; start += PARALLEL_RANGE_SIZE) {
+
+			int from = start;
+			int to = Math.min(start + PARALLEL_RANGE_SIZE, size);
+			JsonValue first = entry;
+
+			FutureTask<Void> task = new FutureTask<>(() -> context.run(workerJson -> {
+				JsonValue value = first;
+				for (int i = from; i < to; i++, value = value.next) {
+					items[i] = workerJson.readValue((Class<V>) valueType, value);
+				}
+				return null;
+			}));
+
+			context.executor.executeJob(task);
+			tasks.add(task);
+
+			for (int i = from; i < to; i++) {
+				entry = entry.next;
+			}
+		}
+
+		for (FutureTask<Void> task : tasks) {
+			await(task);
+		}
+
+		values.size = size;
+	}
+
+	private static <T> T await(FutureTask<T> task) {
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GdxRuntimeException(e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new GdxRuntimeException(cause);
+		}
+	}
+
+	private static class ParallelContext implements Json.Serializer<ParallelContext> {
+
+		final AsyncTaskExecutor executor;
+
+		private final ThreadLocal<Json> json;
+
+		ParallelContext(AsyncTaskExecutor executor, Supplier<Json> newJson) {
+			this.executor = executor;
+			json = new ThreadLocalInstance<>(newJson);
+		}
+
+		/**
+		 * Runs a job with the worker thread's own {@link Json} instance. Arrays nested in elements are processed
+		 * sequentially, so workers don't wait for each other.
+		 */
+		<T> T run(Function<Json, T> job) {
+			return job.apply(json.get());
+		}
+
+		@Override
+		public void write(Json json, ParallelContext object, Class knownType) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public ParallelContext read(Json json, JsonValue jsonData, Class type) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
 }
@@ -2,36 +2,41 @@ package com.badlogic.gdx.json;
 
 import com.badlogic.gdx.concurrent.ThreadLocalInstance;
 import com.badlogic.gdx.utils.GdxRuntimeException;
-import com.badlogic.gdx.utils.StringBuilder;
-
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Utility functions to (optionally) store floats and doubles using a IEEE-754 bit masks.
  * <p>
+ * Values are encoded as "0xXXXXXXXX|value", with the upper-case hexadecimal bit mask followed by the human-readable
+ * value. Only the bit mask is used for decoding. Plain numbers are accepted as well.
+ * <p>
  * Reference: http://the-witness.net/news/2011/12/engine-tech-concurrent-world-editing/
  */
 public class JsonFloatSerializer {
 
-	private static final String fpRegEx = "(-?[0-9.]+(E[+-][0-9]+)?)";
-	private static final Pattern purePattern = Pattern.compile("^" + fpRegEx + "$");
-	private static final Pattern ieeePattern = Pattern.compile("^0x([a-fA-F0-9]+)\\|" + fpRegEx + "$");
+	/** Maximum number of characters written by {@link JsonFloatSerializer#encodeFloatBits(float, char[], int)}. */
+	public static final int MAX_FLOAT_LENGTH = 32;
 
-	private static final ThreadLocal<StringBuilder> stringBuilder =
-			new ThreadLocalInstance<>(() -> new StringBuilder(32));
+	/** Maximum number of characters written by {@link JsonFloatSerializer#encodeDoubleBits(double, char[], int)}. */
+	public static final int MAX_DOUBLE_LENGTH = 48;
 
-	public static String encodeFloatBits(float value) {
+	private static final char[] hexDigits = "0123456789ABCDEF".toCharArray();
 
-		StringBuilder builder = stringBuilder.get();
+	private static final ThreadLocal<char[]> charBuffer =
+			new ThreadLocalInstance<>(() -> new char[MAX_DOUBLE_LENGTH]);
 
-		builder.setLength(0);
-		builder.append("0x");
-		builder.append(String.format("%08X", Float.floatToRawIntBits(value)));
-		builder.append("|");
-		builder.append(value);
+	public static String encodeFloatBits(float value) {
+		char[] buffer = charBuffer.get();
+		int length = encodeFloatBits(value, buffer, 0);
+		return new String(buffer, 0, length);
+	}
 
-		return builder.toString();
+	/**
+	 * Writes the encoded float to the buffer, which must have room for at least {@link #MAX_FLOAT_LENGTH}
+	 * characters. Returns the offset past the last character written.
+	 */
+	public static int encodeFloatBits(float value, char[] buffer, int offset) {
+		offset = writeHex(Float.floatToRawIntBits(value), 8, buffer, offset);
+		return writeValue(Float.toString(value), buffer, offset);
 	}
 
 	public static float decodeFloatBits(String value, float defaultValue) {
@@ -40,33 +45,38 @@ public class JsonFloatSerializer {
 			return defaultValue;
 		}
 
-		Matcher matcher = ieeePattern.matcher(value);
+		return decodeFloatBits(value, 0, value.length());
+	}
 
-		if (matcher.matches()) {
-			String group = matcher.group(1);
-			return Float.intBitsToFloat((int) Long.parseLong(group, 16));
-		} else {
-			matcher = purePattern.matcher(value);
-			if (matcher.matches()) {
-				String group = matcher.group(1);
-				return Float.parseFloat(group);
-			}
+	/**
+	 * Decodes a float from a sequence of characters, e.g. a view into the buffer of a streaming reader.
+	 */
+	public static float decodeFloatBits(CharSequence chars, int offset, int length) {
+
+		if (isEncoded(chars, offset, length)) {
+			return Float.intBitsToFloat((int) readHex(chars, offset, length, 8));
 		}
 
-		throw new GdxRuntimeException("Error parsing float from string: " + value);
+		try {
+			return Float.parseFloat(chars.subSequence(offset, offset + length).toString());
+		} catch (NumberFormatException e) {
+			throw new GdxRuntimeException("Error parsing float from string: " + chars.subSequence(offset, offset + length));
+		}
 	}
 
 	public static String encodeDoubleBits(double value) {
+		char[] buffer = charBuffer.get();
+		int length = encodeDoubleBits(value, buffer, 0);
+		return new String(buffer, 0, length);
+	}
 
-		StringBuilder builder = stringBuilder.get();
-
-		builder.setLength(0);
-		builder.append("0x");
-		builder.append(String.format("%016X", Double.doubleToRawLongBits(value)));
-		builder.append("|");
-		builder.append(value);
-
-		return builder.toString();
+	/**
+	 * Writes the encoded double to the buffer, which must have room for at least {@link #MAX_DOUBLE_LENGTH}
+	 * characters. Returns the offset past the last character written.
+	 */
+	public static int encodeDoubleBits(double value, char[] buffer, int offset) {
+		offset = writeHex(Double.doubleToRawLongBits(value), 16, buffer, offset);
+		return writeValue(Double.toString(value), buffer, offset);
 	}
 
 	public static double decodeDoubleBits(String value, double defaultValue) {
@@ -75,20 +85,82 @@ public class JsonFloatSerializer {
 			return defaultValue;
 		}
 
-		Matcher matcher = ieeePattern.matcher(value);
+		return decodeDoubleBits(value, 0, value.length());
+	}
+
+	/**
+	 * Decodes a double from a sequence of characters, e.g. a view into the buffer of a streaming reader.
+	 */
+	public static double decodeDoubleBits(CharSequence chars, int offset, int length) {
+
+		if (isEncoded(chars, offset, length)) {
+			return Double.longBitsToDouble(readHex(chars, offset, length, 16));
+		}
+
+		try {
+			return Double.parseDouble(chars.subSequence(offset, offset + length).toString());
+		} catch (NumberFormatException e) {
+			throw new GdxRuntimeException("Error parsing double from string: " + chars.subSequence(offset, offset + length));
+		}
+	}
+
+	private static int writeHex(long bits, int digits, char[] buffer, int offset) {
+
+		buffer[offset++] = '0';
+		buffer[offset++] = 'x';
+
+		for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+			buffer[offset++] = hexDigits[(int) (bits >>> shift) & 0xf];
+		}
+
+		buffer[offset++] = '|';
+
+		return offset;
+	}
+
+	private static int writeValue(String value, char[] buffer, int offset) {
+		int length = value.length();
+		value.getChars(0, length, buffer, offset);
+		return offset + length;
+	}
+
+	private static boolean isEncoded(CharSequence chars, int offset, int length) {
+		return length > 2 && chars.charAt(offset) == '0' && chars.charAt(offset + 1) == 'x';
+	}
+
+	/**
+	 * Parses the hexadecimal bit mask between "0x" and "|". The decimal value following the separator is ignored.
+	 */
+	private static long readHex(CharSequence chars, int offset, int length, int maxDigits) {
+
+		long bits = 0;
+		int end = offset + length;
+		int i = offset + 2;
+
+		for (; i < end; i++) {
+
+			char c = chars.charAt(i);
+
+			if (c == '|') {
+				break;
+			}
+
+			int digit = Character.digit(c, 16);
 
-		if (matcher.matches()) {
-			String group = matcher.group(1);
-			return Double.longBitsToDouble(Long.parseLong(group, 16));
-		} else {
-			matcher = purePattern.matcher(value);
-			if (matcher.matches()) {
-				String group = matcher.group(1);
-				return Double.parseDouble(group);
+			if (digit < 0 || i - offset - 2 >= maxDigits) {
+				i = end;
+				break;
 			}
+
+			bits = (bits << 4) | digit;
+		}
+
+		if (i == end || i == offset + 2) {
+			throw new GdxRuntimeException("Error parsing IEEE-754 bit mask from string: "
+					+ chars.subSequence(offset, end));
 		}
 
-		throw new GdxRuntimeException("Error parsing double from string: " + value);
+		return bits;
 	}
 
 }
@@ -1,26 +1,43 @@
 package com.badlogic.gdx.json;
 
 import com.badlogic.gdx.function.Function;
+import com.badlogic.gdx.function.IntFunction;
 import com.badlogic.gdx.json.annotations.JsonMap;
 import com.badlogic.gdx.utils.*;
 
 import java.util.Iterator;
 import java.util.Map;
-import com.badlogic.gdx.function.Supplier;
 
 /**
  * Implementation of {@link com.badlogic.gdx.utils.Json.Serializer} to serialize {@link Map} containers.
  * <p>
  * This is used internally by {@link AnnotatedJsonSerializer}.
+ * <p>
+ * By default, maps are written as an array of { "key": ..., "value": ... } objects. With
+ * {@link JsonMap#compact()}, maps with {@link String} keys are written as a JSON object, and other maps as an
+ * object with two parallel "keys" and "values" arrays. All encodings can be read, regardless of the annotation.
  */
 class JsonMapSerializer<K, V> implements Json.Serializer<Iterable<?>> {
 
-	private String name;
-	private JsonMap map;
+	final String name;
+	final Class<?> mapType;
+	private Class<?> keyType;
+	private Class<?> valueType;
+	private boolean compact;
+
+	private final java.lang.reflect.Constructor<?> sizeConstructor;
 
 	JsonMapSerializer(String name, JsonMap map) {
+		this(name, map.map(), map.key(), map.value(), map.compact());
+	}
+
+	JsonMapSerializer(String name, Class<?> mapType, Class<?> keyType, Class<?> valueType, boolean compact) {
 		this.name = name;
-		this.map = map;
+		this.mapType = mapType;
+		this.keyType = keyType;
+		this.valueType = valueType;
+		this.compact = compact;
+		this.sizeConstructor = getSizeConstructor(mapType);
 	}
 
 	@Override
@@ -31,6 +48,15 @@ class JsonMapSerializer<K, V> implements Json.Serializer<Iterable<?>> {
 	public <E> void write(Json json, Iterable<E> entries,
 						  Function<E, ?> getKey, Function<E, ?> getValue) {
 
+		if (compact) {
+			if (keyType == String.class) {
+				writeObject(json, entries, getKey, getValue);
+			} else {
+				writeParallelArrays(json, entries, getKey, getValue);
+			}
+			return;
+		}
+
 		Iterator<E> it = entries.iterator();
 
 		json.writeArrayStart(name);
@@ -41,8 +67,8 @@ class JsonMapSerializer<K, V> implements Json.Serializer<Iterable<?>> {
 
 			json.writeObjectStart();
 
-			json.writeValue("key", getKey.apply(entry), map.key());
-			json.writeValue("value", getValue.apply(entry), map.value());
+			json.writeValue("key", getKey.apply(entry), keyType);
+			json.writeValue("value", getValue.apply(entry), valueType);
 
 			json.writeObjectEnd();
 		}
@@ -50,38 +76,58 @@ class JsonMapSerializer<K, V> implements Json.Serializer<Iterable<?>> {
 		json.writeArrayEnd();
 	}
 
-	@Override
-	public Iterable<?> read(Json json, JsonValue jsonData, Class type) {
-		throw new GdxRuntimeException("Not implemented!");
-	}
+	private <E> void writeObject(Json json, Iterable<E> entries,
+								 Function<E, ?> getKey, Function<E, ?> getValue) {
 
-	@SuppressWarnings("unchecked")
-	public Map<?, ?> read(Json json, JsonValue jsonData) {
+		json.writeObjectStart(name);
 
-		Map<K, V> values;
+		for (E entry : entries) {
 
-		try {
-			values = (Map<K, V>) map.map().newInstance();
-		} catch (InstantiationException | IllegalAccessException e) {
-			throw new GdxRuntimeException(e);
+			Object key = getKey.apply(entry);
+
+			if (key == null) {
+				throw new GdxRuntimeException("Null keys are not supported by the compact encoding of '" + name + "'.");
+			}
+
+			json.writeValue((String) key, getValue.apply(entry), valueType);
 		}
 
-		JsonValue entry = jsonData.getChild(name);
+		json.writeObjectEnd();
+	}
+
+	private <E> void writeParallelArrays(Json json, Iterable<E> entries,
+										 Function<E, ?> getKey, Function<E, ?> getValue) {
 
-		while (entry != null) {
+		// entries can only be iterated once, e.g. those of an ObjectMap
+		Array<Object> values = new Array<>();
 
-			JsonValue keyValue = entry.get("key");
-			K key = json.readValue((Class<K>) map.key(), keyValue);
+		json.writeObjectStart(name);
+		json.writeArrayStart("keys");
 
-			JsonValue valueValue = entry.get("value");
-			V value = json.readValue((Class<V>) map.value(), valueValue);
+		for (E entry : entries) {
+			json.writeValue(getKey.apply(entry), keyType);
+			values.add(getValue.apply(entry));
+		}
 
-			values.put(key, value);
+		json.writeArrayEnd();
+		json.writeArrayStart("values");
 
-			entry = entry.next;
+		for (int i = 0; i < values.size; i++) {
+			json.writeValue(values.get(i), valueType);
 		}
 
-		return values;
+		json.writeArrayEnd();
+		json.writeObjectEnd();
+	}
+
+	@Override
+	public Iterable<?> read(Json json, JsonValue jsonData, Class type) {
+		throw new GdxRuntimeException("Not implemented!");
+	}
+
+	@SuppressWarnings("unchecked")
+	public Map<?, ?> read(Json json, JsonValue jsonData) {
+		return read(json, jsonData, size -> (Map<K, V>) newMap(size), Map::put);
 	}
 
 	interface KeyValueConsumer<M, K, V> {
@@ -89,27 +135,113 @@ class JsonMapSerializer<K, V> implements Json.Serializer<Iterable<?>> {
 		void accept(M map, K key, V value);
 	}
 
+	/**
+	 * Reads a map, which is created with a capacity large enough to hold all entries.
+	 */
 	@SuppressWarnings("unchecked")
 	public <M> M read(Json json, JsonValue jsonData,
-					  Supplier<M> newInstance, KeyValueConsumer<M, K, V> put) {
+					  IntFunction<M> newInstance, KeyValueConsumer<M, K, V> put) {
 
-		M values = newInstance.get();
+		JsonValue container = jsonData.get(name);
 
-		JsonValue entry = jsonData.getChild(name);
+		if (container == null || container.isNull()) {
+			return newInstance.apply(0);
+		}
 
-		while (entry != null) {
+		if (container.isObject() && keyType == String.class) {
 
-			JsonValue keyValue = entry.get("key");
-			K key = json.readValue((Class<K>) map.key(), keyValue);
+			M values = newInstance.apply(container.size);
 
-			JsonValue valueValue = entry.get("value");
-			V value = json.readValue((Class<V>) map.value(), valueValue);
+			for (JsonValue entry = container.child; entry != null; entry = entry.next) {
+				V value = json.readValue((Class<V>) valueType, entry);
+				put.accept(values, (K) entry.name, value);
+			}
 
-			put.accept(values, key, value);
+			return values;
+		}
 
-			entry = entry.next;
+		if (container.isObject()) {
+
+			JsonValue keyArray = container.get("keys");
+			JsonValue valueArray = container.get("values");
+
+			M values = newInstance.apply(keyArray != null ? keyArray.size : 0);
+
+			JsonValue keyValue = keyArray != null ? keyArray.child : null;
+			JsonValue valueValue = valueArray != null ? valueArray.child : null;
+
+			for (; keyValue != null; keyValue = keyValue.next) {
+
+				K key = json.readValue((Class<K>) keyType, keyValue);
+				V value = json.readValue((Class<V>) valueType, valueValue);
+
+				put.accept(values, key, value);
+
+				if (valueValue != null) {
+					valueValue = valueValue.next;
+				}
+			}
+
+			return values;
+		}
+
+		M values = newInstance.apply(container.size);
+
+		for (JsonValue entry = container.child; entry != null; entry = entry.next) {
+
+			// entries are written as key, then value - only look them up by name if they are not in this order
+			JsonValue keyValue = entry.child;
+			JsonValue valueValue = keyValue != null ? keyValue.next : null;
+
+			if (keyValue == null || !"key".equals(keyValue.name)
+					|| valueValue == null || !"value".equals(valueValue.name)) {
+				keyValue = entry.get("key");
+				valueValue = entry.get("value");
+			}
+
+			K key = json.readValue((Class<K>) keyType, keyValue);
+			V value = json.readValue((Class<V>) valueType, valueValue);
+
+			put.accept(values, key, value);
 		}
 
 		return values;
 	}
+
+	/**
+	 * Creates an instance of the map type, presized to hold the given number of entries. Maps which are no
+	 * {@link Map} are created as {@link ObjectMap}.
+	 */
+	Object newMap(int size) {
+
+		if (!Map.class.isAssignableFrom(mapType)) {
+			return new ObjectMap<>(Math.max(size, 1));
+		}
+
+		try {
+
+			if (sizeConstructor != null) {
+				// same as HashMap(Map), which accounts for the default load factor
+				return sizeConstructor.newInstance((int) (size / 0.75f) + 1);
+			}
+
+			return mapType.newInstance();
+
+		} catch (ReflectiveOperationException e) {
+			throw new GdxRuntimeException(e);
+		}
+	}
+
+	private static java.lang.reflect.Constructor<?> getSizeConstructor(Class<?> mapType) {
+
+		if (!Map.class.isAssignableFrom(mapType)) {
+			return null;
+		}
+
+		try {
+			return mapType.getConstructor(int.class);
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
 }
@@ -0,0 +1,235 @@
+package com.badlogic.gdx.json;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A buffered {@link Writer} which passes JSON output to another writer, optionally pretty-printing it on the fly.
+ * <p>
+ * Pretty-printing is done incrementally, one character at a time, so the document is never held in memory. This
+ * expects compact output of any {@link com.badlogic.gdx.utils.JsonWriter.OutputType}. Unquoted names and values,
+ * as written by the javascript and minimal output types, are passed through as is, including their whitespace.
+ * The layout is not the same as with {@link com.badlogic.gdx.utils.Json#prettyPrint(String)}, which needs to look
+ * ahead, but both parse to the same content.
+ * <p>
+ * {@link JsonOutputWriter#close()} only flushes this writer, but does not close the underlying writer. This
+ * allows to pass it to {@link com.badlogic.gdx.utils.Json#toJson(Object, Writer)}, which closes the writer
+ * passed once it's done.
+ * <p>
+ * This is used internally by {@link AnnotatedJson}.
+ */
+class JsonOutputWriter extends Writer {
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final Writer writer;
+	private final boolean prettyPrint;
+
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private int position;
+
+	private int depth;
+	private boolean[] objects = new boolean[16];
+	private boolean expectName;
+
+	private boolean inString;
+	private boolean escape;
+	private boolean inName;
+	private boolean inValue;
+	private boolean open;
+
+	JsonOutputWriter(Writer writer, boolean prettyPrint) {
+		this.writer = writer;
+		this.prettyPrint = prettyPrint;
+	}
+
+	@Override
+	public void write(char[] chars, int offset, int length) throws IOException {
+
+		if (!prettyPrint) {
+			flushBuffer();
+			writer.write(chars, offset, length);
+			return;
+		}
+
+		for (int i = offset, end = offset + length; i < end; i++) {
+			format(chars[i]);
+		}
+	}
+
+	@Override
+	public void write(String text, int offset, int length) throws IOException {
+
+		if (!prettyPrint) {
+			flushBuffer();
+			writer.write(text, offset, length);
+			return;
+		}
+
+		for (int i = offset, end = offset + length; i < end; i++) {
+			format(text.charAt(i));
+		}
+	}
+
+	@Override
+	public void write(int c) throws IOException {
+
+		if (!prettyPrint) {
+			put((char) c);
+			return;
+		}
+
+		format((char) c);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		flushBuffer();
+		writer.flush();
+	}
+
+	/**
+	 * Flushes, but does not close the underlying writer.
+	 */
+	@Override
+	public void close() throws IOException {
+		flush();
+	}
+
+	private void format(char c) throws IOException {
+
+		if (inString) {
+
+			put(c);
+
+			if (escape) {
+				escape = false;
+			} else if (c == '\\') {
+				escape = true;
+			} else if (c == '"') {
+				inString = false;
+			}
+
+			return;
+		}
+
+		// unquoted names end with ':', unquoted values with the end of the member or element
+		if (inName) {
+			if (c != ':') {
+				put(c);
+				return;
+			}
+			inName = false;
+		} else if (inValue) {
+			if (c != ',' && c != '}' && c != ']') {
+				put(c);
+				return;
+			}
+			inValue = false;
+		}
+
+		switch (c) {
+
+			case '{':
+			case '[':
+				beginValue();
+				put(c);
+				push(c == '{');
+				open = true;
+				break;
+
+			case '}':
+			case ']':
+				depth--;
+				expectName = false;
+				if (open) {
+					// empty object or array
+					open = false;
+				} else {
+					newLine();
+				}
+				put(c);
+				break;
+
+			case ',':
+				put(c);
+				expectName = depth > 0 && objects[depth - 1];
+				newLine();
+				break;
+
+			case ':':
+				put(c);
+				put(' ');
+				expectName = false;
+				break;
+
+			case ' ':
+			case '\t':
+			case '\n':
+			case '\r':
+				break;
+
+			case '"':
+				beginValue();
+				put(c);
+				inString = true;
+				break;
+
+			default:
+				beginValue();
+				put(c);
+				if (expectName) {
+					inName = true;
+				} else {
+					inValue = true;
+				}
+				break;
+		}
+	}
+
+	private void push(boolean object) {
+
+		if (depth == objects.length) {
+			boolean[] newObjects = new boolean[depth * 2];
+			System.arraycopy(objects, 0, newObjects, 0, depth);
+			objects = newObjects;
+		}
+
+		objects[depth++] = object;
+		expectName = object;
+	}
+
+	/**
+	 * Breaks the line after an opening bracket, once it's known that the container is not empty.
+	 */
+	private void beginValue() throws IOException {
+		if (open) {
+			open = false;
+			newLine();
+		}
+	}
+
+	private void newLine() throws IOException {
+		put('\n');
+		for (int i = 0; i < depth; i++) {
+			put('\t');
+		}
+	}
+
+	private void put(char c) throws IOException {
+
+		if (position == BUFFER_SIZE) {
+			flushBuffer();
+		}
+
+		buffer[position++] = c;
+	}
+
+	private void flushBuffer() throws IOException {
+		if (position > 0) {
+			writer.write(buffer, 0, position);
+			position = 0;
+		}
+	}
+
+}
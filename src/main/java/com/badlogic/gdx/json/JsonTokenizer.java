@@ -0,0 +1,503 @@
+package com.badlogic.gdx.json;
+
+import com.badlogic.gdx.utils.SerializationException;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Pull tokenizer for JSON text, accepting the same relaxed syntax as {@link com.badlogic.gdx.utils.JsonReader}:
+ * unquoted names and values, optional commas, and C/C++ style comments.
+ * <p>
+ * The text of names, strings and numbers is kept in a reusable character buffer. It is only valid until the next
+ * call to {@link JsonTokenizer#next()}.
+ */
+class JsonTokenizer {
+
+	static final int EOF = 0;
+	static final int BEGIN_OBJECT = 1;
+	static final int END_OBJECT = 2;
+	static final int BEGIN_ARRAY = 3;
+	static final int END_ARRAY = 4;
+	static final int NAME = 5;
+	static final int STRING = 6;
+	static final int NUMBER = 7;
+	static final int TRUE = 8;
+	static final int FALSE = 9;
+	static final int NULL = 10;
+
+	private final Reader reader;
+
+	private final char[] buffer = new char[8192];
+	private int position;
+	private int limit;
+	private int line = 1;
+
+	private char[] text = new char[64];
+	private int textLength;
+	private boolean decimal;
+
+	private final CharSequence textView = new TextView();
+
+	/** Container stack, true for objects. */
+	private boolean[] stack = new boolean[32];
+	private int depth;
+	private boolean expectName;
+
+	JsonTokenizer(Reader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * Returns the next token. Separators (colons and commas) are consumed, but not reported.
+	 */
+	int next() throws IOException {
+
+		int c = skipWhitespace(true);
+
+		if (c < 0) {
+			if (depth > 0) {
+				throw error("Unexpected end of input");
+			}
+			return EOF;
+		}
+
+		if (c == '}' || c == ']') {
+			position++;
+			pop(c == '}');
+			return c == '}' ? END_OBJECT : END_ARRAY;
+		}
+
+		if (expectName) {
+			readName(c);
+			return NAME;
+		}
+
+		switch (c) {
+			case '{':
+				position++;
+				push(true);
+				return BEGIN_OBJECT;
+			case '[':
+				position++;
+				push(false);
+				return BEGIN_ARRAY;
+			case '"':
+				position++;
+				readQuoted();
+				valueRead();
+				return STRING;
+			default:
+				int token = readUnquoted();
+				valueRead();
+				return token;
+		}
+	}
+
+	/**
+	 * Text of the last name, string or number read, as a view into the internal buffer.
+	 */
+	CharSequence chars() {
+		return textView;
+	}
+
+	int length() {
+		return textLength;
+	}
+
+	String text() {
+		return new String(text, 0, textLength);
+	}
+
+	boolean textEquals(String value) {
+
+		if (value.length() != textLength) {
+			return false;
+		}
+
+		for (int i = 0; i < textLength; i++) {
+			if (value.charAt(i) != text[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns true if the last number read has a fractional part, or an exponent.
+	 */
+	boolean isDecimal() {
+		return decimal;
+	}
+
+	int intValue() {
+		return decimal ? (int) doubleValue() : (int) longValue();
+	}
+
+	long longValue() {
+
+		if (decimal) {
+			return (long) doubleValue();
+		}
+
+		if (textLength > 18) {
+			// may overflow
+			try {
+				return Long.parseLong(text());
+			} catch (NumberFormatException e) {
+				return (long) doubleValue();
+			}
+		}
+
+		boolean negative = text[0] == '-';
+		long value = 0;
+
+		for (int i = negative ? 1 : 0; i < textLength; i++) {
+			value = value * 10 + (text[i] - '0');
+		}
+
+		return negative ? -value : value;
+	}
+
+	float floatValue() {
+		return Float.parseFloat(text());
+	}
+
+	double doubleValue() {
+		return Double.parseDouble(text());
+	}
+
+	SerializationException error(String message) {
+		return new SerializationException(message + " at line " + line);
+	}
+
+	private void valueRead() {
+		expectName = depth > 0 && stack[depth - 1];
+	}
+
+	private void push(boolean object) {
+
+		if (depth == stack.length) {
+			boolean[] larger = new boolean[depth * 2];
+			System.arraycopy(stack, 0, larger, 0, depth);
+			stack = larger;
+		}
+
+		stack[depth++] = object;
+		expectName = object;
+	}
+
+	private void pop(boolean object) {
+
+		if (depth == 0 || stack[depth - 1] != object) {
+			throw error("Unexpected '" + (object ? '}' : ']') + "'");
+		}
+
+		depth--;
+		valueRead();
+	}
+
+	private void readName(int c) throws IOException {
+
+		if (c == '"') {
+			position++;
+			readQuoted();
+		} else {
+			textLength = 0;
+			while ((c = peek()) >= 0 && c != ':' && c != '\n' && c != '\r') {
+				appendUnquoted(c);
+			}
+			trimText();
+		}
+
+		if (skipWhitespace(false) != ':') {
+			throw error("Expected ':' after name '" + text() + "'");
+		}
+
+		position++;
+		expectName = false;
+	}
+
+	private void readQuoted() throws IOException {
+
+		textLength = 0;
+
+		for (;;) {
+
+			int c = read();
+
+			if (c < 0) {
+				throw error("Unterminated string");
+			} else if (c == '"') {
+				return;
+			} else if (c != '\\') {
+				append((char) c);
+				continue;
+			}
+
+			readEscape();
+		}
+	}
+
+	private void readEscape() throws IOException {
+
+		int c = read();
+
+		switch (c) {
+			case 'b':
+				append('\b');
+				break;
+			case 'f':
+				append('\f');
+				break;
+			case 'n':
+				append('\n');
+				break;
+			case 'r':
+				append('\r');
+				break;
+			case 't':
+				append('\t');
+				break;
+			case 'u':
+				append(readHex());
+				break;
+			case '"':
+			case '\\':
+			case '/':
+				append((char) c);
+				break;
+			default:
+				throw error("Illegal escape sequence");
+		}
+	}
+
+	private char readHex() throws IOException {
+
+		int value = 0;
+
+		for (int i = 0; i < 4; i++) {
+
+			int c = read();
+			int digit = Character.digit(c, 16);
+
+			if (c < 0 || digit < 0) {
+				throw error("Illegal unicode escape sequence");
+			}
+
+			value = (value << 4) | digit;
+		}
+
+		return (char) value;
+	}
+
+	private int readUnquoted() throws IOException {
+
+		textLength = 0;
+
+		int c;
+		while ((c = peek()) >= 0 && c != ',' && c != '}' && c != ']' && c != '\n' && c != '\r') {
+			appendUnquoted(c);
+		}
+
+		trimText();
+
+		if (textEquals("true")) {
+			return TRUE;
+		} else if (textEquals("false")) {
+			return FALSE;
+		} else if (textEquals("null")) {
+			return NULL;
+		}
+
+		return isNumber() ? NUMBER : STRING;
+	}
+
+	/**
+	 * Checks if the text is a number, and whether it's a decimal one.
+	 */
+	private boolean isNumber() {
+
+		int i = 0;
+		int n = textLength;
+
+		if (i < n && text[i] == '-') {
+			i++;
+		}
+
+		int digits = i;
+		while (i < n && text[i] >= '0' && text[i] <= '9') {
+			i++;
+		}
+
+		if (i == digits) {
+			return false;
+		}
+
+		decimal = false;
+
+		if (i < n && text[i] == '.') {
+			decimal = true;
+			digits = ++i;
+			while (i < n && text[i] >= '0' && text[i] <= '9') {
+				i++;
+			}
+			if (i == digits) {
+				return false;
+			}
+		}
+
+		if (i < n && (text[i] == 'e' || text[i] == 'E')) {
+			decimal = true;
+			i++;
+			if (i < n && (text[i] == '+' || text[i] == '-')) {
+				i++;
+			}
+			digits = i;
+			while (i < n && text[i] >= '0' && text[i] <= '9') {
+				i++;
+			}
+			if (i == digits) {
+				return false;
+			}
+		}
+
+		return i == n;
+	}
+
+	/**
+	 * Appends the next character of an unquoted name or value, which can contain escape sequences as well.
+	 */
+	private void appendUnquoted(int c) throws IOException {
+
+		position++;
+
+		if (c == '\\') {
+			readEscape();
+		} else {
+			append((char) c);
+		}
+	}
+
+	private void trimText() {
+		while (textLength > 0 && Character.isWhitespace(text[textLength - 1])) {
+			textLength--;
+		}
+	}
+
+	private void append(char c) {
+
+		if (textLength == text.length) {
+			char[] larger = new char[textLength * 2];
+			System.arraycopy(text, 0, larger, 0, textLength);
+			text = larger;
+		}
+
+		text[textLength++] = c;
+	}
+
+	/**
+	 * Skips whitespace and comments, and optionally commas. Returns the next character without consuming it, or
+	 * -1 at the end of input.
+	 */
+	private int skipWhitespace(boolean commas) throws IOException {
+
+		for (;;) {
+
+			int c = peek();
+
+			if (c == ' ' || c == '\t' || c == '\r' || c == '\n' || (commas && c == ',')) {
+				position++;
+				if (c == '\n') {
+					line++;
+				}
+			} else if (c == '/') {
+				position++;
+				skipComment();
+			} else {
+				return c;
+			}
+		}
+	}
+
+	private void skipComment() throws IOException {
+
+		int c = read();
+
+		if (c == '/') {
+			while ((c = read()) >= 0 && c != '\n') {
+				// skip to end of line
+			}
+		} else if (c == '*') {
+			int previous = 0;
+			while ((c = read()) >= 0 && !(previous == '*' && c == '/')) {
+				previous = c;
+			}
+		} else {
+			throw error("Unexpected '/'");
+		}
+	}
+
+	private int peek() throws IOException {
+
+		if (position == limit && !fill()) {
+			return -1;
+		}
+
+		return buffer[position];
+	}
+
+	private int read() throws IOException {
+
+		if (position == limit && !fill()) {
+			return -1;
+		}
+
+		char c = buffer[position++];
+
+		if (c == '\n') {
+			line++;
+		}
+
+		return c;
+	}
+
+	private boolean fill() throws IOException {
+
+		int count = reader.read(buffer, 0, buffer.length);
+
+		if (count <= 0) {
+			return false;
+		}
+
+		position = 0;
+		limit = count;
+
+		return true;
+	}
+
+	private class TextView implements CharSequence {
+
+		@Override
+		public int length() {
+			return textLength;
+		}
+
+		@Override
+		public char charAt(int index) {
+			return text[index];
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return new String(text, start, end - start);
+		}
+
+		@Override
+		public String toString() {
+			return text();
+		}
+	}
+
+}
@@ -0,0 +1,116 @@
+package com.badlogic.gdx.json;
+
+import com.badlogic.gdx.json.annotations.JsonLazy;
+import com.badlogic.gdx.utils.*;
+
+import java.io.IOException;
+
+/**
+ * Holder of a value which is deserialized on first access. Fields of this type must be annotated with
+ * {@link JsonLazy}.
+ * <p>
+ * On read, the {@link JsonValue} of the field is kept as is, and only converted to an object by the first call to
+ * {@link LazyValue#get()}. A value which has never been accessed is written back as read, without a round trip
+ * through its type.
+ * <p>
+ * The {@link JsonValue} is part of the document read, which is held in memory until all lazy values of the
+ * document are loaded, or discarded. Values read by {@link AnnotatedJsonStreamReader} only keep their own
+ * subtree. The binary format doesn't support lazy values, so they are loaded on read.
+ * <p>
+ * Instances of this class are not thread-safe.
+ */
+public class LazyValue<T> {
+
+	private T value;
+
+	private Json json;
+	private Class<?> type;
+	private JsonValue data;
+
+	public LazyValue() {
+
+	}
+
+	public LazyValue(T value) {
+		this.value = value;
+	}
+
+	LazyValue(Json json, Class<?> type, JsonValue data) {
+		this.json = json;
+		this.type = type;
+		this.data = data;
+	}
+
+	/**
+	 * Returns the value, and deserializes it first if needed.
+	 */
+	@SuppressWarnings("unchecked")
+	public T get() {
+
+		if (data != null) {
+			value = (T) json.readValue(type, null, data);
+			discard();
+		}
+
+		return value;
+	}
+
+	public void set(T value) {
+		this.value = value;
+		discard();
+	}
+
+	/**
+	 * Returns true if the value has been deserialized, or has been set directly.
+	 */
+	public boolean isLoaded() {
+		return data == null;
+	}
+
+	private void discard() {
+		json = null;
+		type = null;
+		data = null;
+	}
+
+	/**
+	 * Writes the value of a field annotated with {@link JsonLazy}, the same way as other object fields.
+	 */
+	static void write(Json json, String name, LazyValue<?> value, Class<?> type, boolean writeNull) {
+
+		if (value == null || (value.isLoaded() && value.value == null)) {
+			if (writeNull) {
+				json.writeValue(name, (Object) null, type);
+			}
+			return;
+		}
+
+		if (value.isLoaded()) {
+			json.writeValue(name, value.value, type);
+			return;
+		}
+
+		try {
+			json.getWriter().name(name);
+			json.getWriter().json(value.data.toJson(JsonWriter.OutputType.json));
+		} catch (IOException e) {
+			throw new SerializationException(e);
+		}
+	}
+
+	/**
+	 * Reads the value of a field annotated with {@link JsonLazy}. Returns the old value if there is no data, or
+	 * if the data is null.
+	 */
+	static <V> LazyValue<V> read(Json json, JsonValue jsonData, String name, Class<?> type, LazyValue<V> oldValue) {
+
+		JsonValue data = jsonData.get(name);
+
+		if (data == null || data.isNull()) {
+			return oldValue;
+		}
+
+		return new LazyValue<>(json, type, data);
+	}
+
+}
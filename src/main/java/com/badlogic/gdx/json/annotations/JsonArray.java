@@ -24,4 +24,13 @@ public @interface JsonArray {
 	 */
 	boolean ordered() default true;
 
+	/**
+	 * If set, large arrays are read and written in parallel, in ranges of elements, using the executor set for the
+	 * {@link com.badlogic.gdx.utils.Json} instance with
+	 * {@link com.badlogic.gdx.json.AnnotatedJson#setParallelExecutor(com.badlogic.gdx.utils.Json,
+	 * com.badlogic.gdx.concurrent.AsyncTaskExecutor, com.badlogic.gdx.function.Supplier)}. Element types must be
+	 * safe to serialize concurrently.
+	 */
+	boolean parallel() default false;
+
 }
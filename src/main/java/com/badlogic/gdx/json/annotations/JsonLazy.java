@@ -0,0 +1,18 @@
+package com.badlogic.gdx.json.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a field of type {@link com.badlogic.gdx.json.LazyValue} to be deserialized on first access, instead of
+ * when the parent object is read.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface JsonLazy {
+
+	/**
+	 * Specifies the class type of the value.
+	 */
+	Class<?> value();
+
+}
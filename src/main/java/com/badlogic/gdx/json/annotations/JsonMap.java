@@ -8,4 +8,10 @@ public @interface JsonMap {
 	Class<?> map();
 	Class<?> key();
 	Class<?> value();
+
+	/**
+	 * If set, maps with {@link String} keys are written as a JSON object, and other maps as two parallel arrays of
+	 * keys and values, instead of an array of key/value objects. All encodings can be read either way.
+	 */
+	boolean compact() default false;
 }
@@ -11,6 +11,8 @@ import java.lang.annotation.*;
  * {@link com.badlogic.gdx.utils.Array}.
  * <p>
  * The {@link JsonMap} property must be set to add type information for {@link java.util.Map} containers.
+ * <p>
+ * The {@link JsonLazy} property must be set for fields of type {@link com.badlogic.gdx.json.LazyValue}.
  */
 @Target(ElementType.FIELD)
 @Retention(RetentionPolicy.RUNTIME)
@@ -22,6 +24,8 @@ public @interface JsonSerialize {
 
 	JsonMap[] map() default {};
 
+	JsonLazy[] lazy() default {};
+
 	/**
 	 * If the JSON value is 'null', or not present at all, an instance is still
 	 * created by default if the annotated field is serializable.
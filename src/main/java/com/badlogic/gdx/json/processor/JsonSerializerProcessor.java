@@ -0,0 +1,558 @@
+package com.badlogic.gdx.json.processor;
+
+import com.badlogic.gdx.function.Supplier;
+import com.badlogic.gdx.json.annotations.*;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.*;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Annotation processor which generates a {@link com.badlogic.gdx.json.GeneratedJsonSerializer} for each class
+ * annotated with {@link JsonSerializable}. Generated serializers access fields directly, with default value
+ * checks and {@link JsonSerializable#encodeFP()} handling resolved at compile time.
+ * <p>
+ * This processor is optional, and not registered as a service. To use it, add it to the compiler options of
+ * the project containing the annotated classes, e.g. with <code>-processor
+ * com.badlogic.gdx.json.processor.JsonSerializerProcessor</code>. At runtime, {@link com.badlogic.gdx.json.AnnotatedJson}
+ * picks up generated serializers automatically, and falls back to reflection for any class without one.
+ * <p>
+ * The serializer for a class <code>com.example.Outer.Inner</code> is named
+ * <code>com.example.Outer_Inner_JsonSerializer</code>. Classes are skipped, with a note, if they can't be accessed
+ * from generated code in the same package, e.g. because of private or final fields, or a private constructor.
+ * Classes with {@link JsonSerializable#dynamic()} type information are skipped as well.
+ */
+@SupportedAnnotationTypes("com.badlogic.gdx.json.annotations.JsonSerializable")
+public class JsonSerializerProcessor extends AbstractProcessor {
+
+	private static final String CLASS_SUFFIX = "_JsonSerializer";
+
+	private static final String JSON = "com.badlogic.gdx.utils.Json";
+	private static final String JSON_VALUE = "com.badlogic.gdx.utils.JsonValue";
+	private static final String JSON_FLOAT_SERIALIZER = "com.badlogic.gdx.json.JsonFloatSerializer";
+	private static final String JSON_OBJECT = "com.badlogic.gdx.json.AnnotatedJsonObject";
+	private static final String ARRAY = "com.badlogic.gdx.utils.Array";
+
+	private Elements elements;
+	private Types types;
+	private Messager messager;
+
+	@Override
+	public synchronized void init(ProcessingEnvironment processingEnv) {
+		super.init(processingEnv);
+		elements = processingEnv.getElementUtils();
+		types = processingEnv.getTypeUtils();
+		messager = processingEnv.getMessager();
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+		for (Element element : roundEnv.getElementsAnnotatedWith(JsonSerializable.class)) {
+
+			if (element.getKind() != ElementKind.CLASS) {
+				continue;
+			}
+
+			TypeElement type = (TypeElement) element;
+			List<VariableElement> fields = new ArrayList<>();
+
+			String reason = checkSupported(type, fields);
+
+			if (reason != null) {
+				messager.printMessage(Diagnostic.Kind.NOTE,
+						"No serializer generated for " + type.getQualifiedName() + ": " + reason, type);
+				continue;
+			}
+
+			try {
+				generate(type, fields);
+			} catch (IOException e) {
+				messager.printMessage(Diagnostic.Kind.ERROR,
+						"Failed to write serializer for " + type.getQualifiedName() + ": " + e.getMessage(), type);
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Collects all serialized fields, including those of annotated super classes. Returns null if a serializer
+	 * can be generated for this type, or the reason why not.
+	 */
+	private String checkSupported(TypeElement type, List<VariableElement> fields) {
+
+		JsonSerializable annotation = findAnnotation(type);
+
+		if (annotation == null) {
+			return "missing @JsonSerializable annotation";
+		}
+
+		if (annotation.dynamic()) {
+			return "dynamic types are not supported";
+		}
+
+		if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+			return "class is abstract";
+		}
+
+		if (!type.getTypeParameters().isEmpty()) {
+			return "generic classes are not supported";
+		}
+
+		PackageElement pkg = elements.getPackageOf(type);
+
+		if (!isAccessible(type, pkg)) {
+			return "class is not accessible, or not a static member class";
+		}
+
+		if (!hasDefaultConstructor(type)) {
+			return "no accessible default constructor";
+		}
+
+		for (TypeElement t = type; t != null; t = superclassOf(t)) {
+
+			if (t != type && findAnnotation(t) == null) {
+				break;
+			}
+
+			boolean samePackage = elements.getPackageOf(t).equals(pkg);
+
+			for (VariableElement field : ElementFilter.fieldsIn(t.getEnclosedElements())) {
+
+				if (field.getAnnotation(JsonSerialize.class) == null) {
+					continue;
+				}
+
+				Set<Modifier> modifiers = field.getModifiers();
+
+				if (modifiers.contains(Modifier.PRIVATE)
+						|| (!samePackage && !(modifiers.contains(Modifier.PUBLIC) && t.getModifiers().contains(Modifier.PUBLIC)))) {
+					return "field " + field.getSimpleName() + " is not accessible";
+				}
+
+				if (modifiers.contains(Modifier.FINAL)) {
+					return "field " + field.getSimpleName() + " is final";
+				}
+
+				fields.add(field);
+			}
+		}
+
+		return null;
+	}
+
+	private void generate(TypeElement type, List<VariableElement> fields) throws IOException {
+
+		JsonSerializable annotation = findAnnotation(type);
+
+		PackageElement pkg = elements.getPackageOf(type);
+		String packageName = pkg.getQualifiedName().toString();
+		String binaryName = elements.getBinaryName(type).toString();
+		String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+				.replace('$', '_') + CLASS_SUFFIX;
+		String typeName = type.getQualifiedName().toString();
+
+		TypeElement jsonObject = elements.getTypeElement(JSON_OBJECT);
+		boolean callbacks = jsonObject != null && types.isAssignable(type.asType(), jsonObject.asType());
+
+		StringBuilder init = new StringBuilder();
+		StringBuilder write = new StringBuilder();
+		StringBuilder read = new StringBuilder();
+		StringBuilder readInPlace = new StringBuilder();
+		StringBuilder members = new StringBuilder();
+		Set<String> registered = new HashSet<>();
+
+		int containers = 0;
+
+		for (VariableElement field : fields) {
+
+			JsonSerialize fieldAnnotation = field.getAnnotation(JsonSerialize.class);
+			String fieldName = field.getSimpleName().toString();
+			String name = literal(fieldAnnotation.name().isEmpty() ? fieldName : fieldAnnotation.name());
+			String access = "object." + fieldName;
+			TypeMirror fieldType = field.asType();
+
+			if (fieldAnnotation.array().length > 0) {
+
+				JsonArray array = fieldAnnotation.array()[0];
+				String index = "container" + containers++;
+
+				members.append("\tprivate final int ").append(index).append(";\n");
+				init.append("\t\t").append(index).append(" = addArray(json, ").append(name).append(", ")
+						.append(classLiteral(classValue(array::array))).append(", ")
+						.append(classLiteral(classValue(array::value))).append(", ")
+						.append(array.ordered()).append(array.parallel() ? ", true" : "").append(");\n");
+
+				write.append("\t\twriteArray(json, ").append(index).append(", (").append(ARRAY).append("<?>) ")
+						.append(access).append(", ").append(annotation.writeNull()).append(");\n");
+				read.append("\t\t").append(access).append(" = readArray(json, jsonData, ").append(index).append(");\n");
+				readInPlace.append("\t\t").append(access).append(" = readArrayInPlace(json, jsonData, ").append(index)
+						.append(", ").append(access).append(");\n");
+
+			} else if (fieldAnnotation.map().length > 0) {
+
+				JsonMap map = fieldAnnotation.map()[0];
+				String index = "container" + containers++;
+
+				members.append("\tprivate final int ").append(index).append(";\n");
+				init.append("\t\t").append(index).append(" = addMap(json, ").append(name).append(", ")
+						.append(classLiteral(classValue(map::map))).append(", ")
+						.append(classLiteral(classValue(map::key))).append(", ")
+						.append(classLiteral(classValue(map::value)))
+						.append(map.compact() ? ", true" : "").append(");\n");
+
+				write.append("\t\twriteMap(json, ").append(index).append(", ").append(access).append(", ")
+						.append(annotation.writeNull()).append(");\n");
+				read.append("\t\t").append(access).append(" = readMap(json, jsonData, ").append(index).append(", ")
+						.append(access).append(");\n");
+				readInPlace.append("\t\t").append(access).append(" = readMapInPlace(json, jsonData, ").append(index)
+						.append(", ").append(access).append(");\n");
+
+			} else if (fieldAnnotation.lazy().length > 0) {
+
+				JsonLazy lazy = fieldAnnotation.lazy()[0];
+				String valueLiteral = classLiteral(classValue(lazy::value));
+
+				if (registered.add(valueLiteral)) {
+					init.append("\t\tregister(json, ").append(valueLiteral).append(");\n");
+				}
+
+				write.append("\t\twriteLazy(json, ").append(name).append(", ").append(access).append(", ")
+						.append(valueLiteral).append(", ").append(annotation.writeNull()).append(");\n");
+				read.append("\t\t").append(access).append(" = readLazy(json, jsonData, ").append(name).append(", ")
+						.append(valueLiteral).append(", ").append(access).append(");\n");
+				readInPlace.append("\t\t").append(access).append(" = readLazy(json, jsonData, ").append(name)
+						.append(", ").append(valueLiteral).append(", null);\n");
+
+			} else if (isPrimitive(fieldType, TypeKind.INT, TypeKind.FLOAT, TypeKind.DOUBLE, TypeKind.BOOLEAN)) {
+
+				generatePrimitive(annotation, fieldAnnotation, fieldType.getKind(), name, access,
+						write, read, readInPlace);
+
+			} else {
+
+				generateObject(annotation, fieldAnnotation, fieldType, pkg, name, access, registered,
+						init, write, read, readInPlace);
+			}
+		}
+
+		try (PrintWriter out = new PrintWriter(processingEnv.getFiler()
+				.createSourceFile(packageName.isEmpty() ? simpleName : packageName + "." + simpleName, type)
+				.openWriter())) {
+
+			out.append("// generated by ").append(getClass().getName()).append(", do not edit\n");
+
+			if (!packageName.isEmpty()) {
+				out.append("package ").append(packageName).append(";\n");
+			}
+
+			out.append("\npublic final class ").append(simpleName)
+					.append(" extends com.badlogic.gdx.json.GeneratedJsonSerializer<").append(typeName).append("> {\n\n");
+
+			if (members.length() > 0) {
+				out.append(members).append("\n");
+			}
+
+			out.append("\tpublic ").append(simpleName).append("(").append(JSON).append(" json) {\n");
+			out.append("\t\tsuper(json, ").append(typeName).append(".class);\n");
+			out.append(init);
+			out.append("\t}\n\n");
+
+			out.append("\t@Override\n");
+			out.append("\tpublic void write(").append(JSON).append(" json, ").append(typeName)
+					.append(" object, Class knownType) {\n");
+			if (callbacks) {
+				out.append("\t\tobject.onJsonWrite();\n");
+			}
+			out.append("\t\tjson.writeObjectStart();\n");
+			out.append(write);
+			out.append("\t\tjson.writeObjectEnd();\n");
+			out.append("\t}\n\n");
+
+			out.append("\t@Override\n");
+			out.append("\t@SuppressWarnings(\"unchecked\")\n");
+			out.append("\tpublic ").append(typeName).append(" read(").append(JSON).append(" json, ")
+					.append(JSON_VALUE).append(" jsonData, Class type) {\n");
+			out.append("\t\t").append(typeName).append(" object = obtainInstance();\n");
+			out.append("\t\tif (object != null) {\n");
+			out.append("\t\t\treturn readInPlace(json, jsonData, object);\n");
+			out.append("\t\t}\n");
+			out.append("\t\tobject = new ").append(typeName).append("();\n");
+			out.append("\t\t").append(JSON_VALUE).append(" value;\n");
+			out.append("\t\tObject v;\n");
+			out.append(read);
+			if (callbacks) {
+				out.append("\t\tobject.onJsonRead();\n");
+			}
+			out.append("\t\treturn object;\n");
+			out.append("\t}\n\n");
+
+			out.append("\t@Override\n");
+			out.append("\t@SuppressWarnings(\"unchecked\")\n");
+			out.append("\tprotected ").append(typeName).append(" readInPlace(").append(JSON).append(" json, ")
+					.append(JSON_VALUE).append(" jsonData, ").append(typeName).append(" object) {\n");
+			out.append("\t\t").append(JSON_VALUE).append(" value;\n");
+			out.append("\t\tObject v;\n");
+			out.append(readInPlace);
+			if (callbacks) {
+				out.append("\t\tobject.onJsonRead();\n");
+			}
+			out.append("\t\treturn object;\n");
+			out.append("\t}\n\n");
+
+			out.append("}\n");
+		}
+	}
+
+	private void generatePrimitive(JsonSerializable annotation, JsonSerialize fieldAnnotation, TypeKind kind,
+								   String name, String access, StringBuilder write, StringBuilder read,
+								   StringBuilder readInPlace) {
+
+		String type = kind.name().toLowerCase();
+		String value = access;
+		String defaultValue;
+		String parse;
+
+		switch (kind) {
+			case INT:
+				defaultValue = literal(fieldAnnotation.defaultIntValue());
+				parse = "value.asInt()";
+				break;
+			case FLOAT:
+				defaultValue = literal(fieldAnnotation.defaultFloatValue());
+				if (annotation.encodeFP()) {
+					value = JSON_FLOAT_SERIALIZER + ".encodeFloatBits(" + access + ")";
+				}
+				parse = "value.isString() ? " + JSON_FLOAT_SERIALIZER + ".decodeFloatBits(value.asString(), "
+						+ access + ") : value.asFloat()";
+				break;
+			case DOUBLE:
+				defaultValue = literal(fieldAnnotation.defaultDoubleValue());
+				if (annotation.encodeFP()) {
+					value = JSON_FLOAT_SERIALIZER + ".encodeDoubleBits(" + access + ")";
+				}
+				parse = "value.isString() ? " + JSON_FLOAT_SERIALIZER + ".decodeDoubleBits(value.asString(), "
+						+ access + ") : value.asDouble()";
+				break;
+			default:
+				defaultValue = literal(fieldAnnotation.defaultBooleanValue());
+				parse = "value.asBoolean()";
+				break;
+		}
+
+		String statement = "json.writeValue(" + name + ", " + value + ", " + type + ".class);\n";
+
+		if (fieldAnnotation.writeIfDefaultValue()) {
+			write.append("\t\t").append(statement);
+		} else {
+			write.append("\t\tif (").append(access).append(" != ").append(defaultValue).append(") {\n");
+			write.append("\t\t\t").append(statement);
+			write.append("\t\t}\n");
+		}
+
+		read.append("\t\tvalue = jsonData.get(").append(name).append(");\n");
+		read.append("\t\tif (value != null && !value.isNull()) {\n");
+		read.append("\t\t\t").append(access).append(" = ").append(parse).append(";\n");
+		read.append("\t\t}\n");
+
+		// in place, missing values are reset to the annotated default
+
+		readInPlace.append("\t\tvalue = jsonData.get(").append(name).append(");\n");
+		readInPlace.append("\t\t").append(access).append(" = value != null && !value.isNull() ? ").append(parse)
+				.append(" : ").append(defaultValue).append(";\n");
+	}
+
+	private void generateObject(JsonSerializable annotation, JsonSerialize fieldAnnotation, TypeMirror fieldType,
+								PackageElement pkg, String name, String access, Set<String> registered,
+								StringBuilder init, StringBuilder write, StringBuilder read,
+								StringBuilder readInPlace) {
+
+		boolean isArray = fieldType.getKind() == TypeKind.ARRAY;
+		TypeMirror componentType = isArray ? ((ArrayType) fieldType).getComponentType() : fieldType;
+
+		String typeLiteral = classLiteral(fieldType);
+		String componentLiteral = classLiteral(componentType);
+		String cast = fieldType.getKind().isPrimitive()
+				? types.boxedClass((PrimitiveType) fieldType).getQualifiedName().toString()
+				: types.erasure(fieldType).toString();
+
+		if (componentType.getKind() == TypeKind.DECLARED && registered.add(componentLiteral)) {
+			init.append("\t\tregister(json, ").append(componentLiteral).append(");\n");
+		}
+
+		// write
+
+		String args = isArray ? typeLiteral + ", " + componentLiteral : typeLiteral;
+
+		if (fieldType.getKind().isPrimitive()) {
+			write.append("\t\tjson.writeValue(").append(name).append(", ").append(access).append(", ")
+					.append(args).append(");\n");
+		} else {
+			write.append("\t\tif (").append(access).append(" != null) {\n");
+			if (isArray) {
+				write.append("\t\t\tif (").append(access).append(".length > 0) {\n");
+				write.append("\t\t\t\tjson.writeValue(").append(name).append(", ").append(access).append(", ")
+						.append(args).append(");\n");
+				write.append("\t\t\t}\n");
+			} else {
+				write.append("\t\t\tjson.writeValue(").append(name).append(", ").append(access).append(", ")
+						.append(args).append(");\n");
+			}
+			write.append("\t\t}");
+			if (annotation.writeNull()) {
+				write.append(" else {\n");
+				write.append("\t\t\tjson.writeValue(").append(name).append(", null, ").append(args).append(");\n");
+				write.append("\t\t}");
+			}
+			write.append("\n");
+		}
+
+		// read
+
+		read.append("\t\tv = json.readValue(").append(name).append(", ").append(typeLiteral).append(", ")
+				.append(componentLiteral).append(", jsonData);\n");
+		readInPlace.append("\t\tv = readValueInPlace(json, jsonData, ").append(name).append(", ").append(typeLiteral)
+				.append(", ").append(componentLiteral).append(", ").append(access).append(");\n");
+
+		boolean createIfNull = !annotation.writeNull()
+				&& fieldAnnotation.createIfNull()
+				&& fieldType.getKind() == TypeKind.DECLARED
+				&& types.asElement(fieldType).getAnnotation(JsonSerializable.class) != null;
+
+		if (createIfNull) {
+			// use the constructor directly if accessible, or reflection otherwise
+			TypeElement element = (TypeElement) types.asElement(fieldType);
+			String instance = isAccessible(element, pkg) && hasDefaultConstructor(element)
+					? "new " + cast + "()" : "newInstance(" + typeLiteral + ")";
+			String statement = access + " = v != null ? (" + cast + ") v : " + instance + ";\n";
+			read.append("\t\t").append(statement);
+			readInPlace.append("\t\t").append(statement);
+		} else {
+			read.append("\t\tif (v != null) {\n");
+			read.append("\t\t\t").append(access).append(" = (").append(cast).append(") v;\n");
+			read.append("\t\t}\n");
+			if (fieldType.getKind().isPrimitive()) {
+				// no annotated default for other primitive types, so keep the current value
+				readInPlace.append("\t\tif (v != null) {\n");
+				readInPlace.append("\t\t\t").append(access).append(" = (").append(cast).append(") v;\n");
+				readInPlace.append("\t\t}\n");
+			} else {
+				readInPlace.append("\t\t").append(access).append(" = (").append(cast).append(") v;\n");
+			}
+		}
+	}
+
+	/**
+	 * Looks up the {@link JsonSerializable} annotation the same way the reflection-based serializer does:
+	 * class (including inherited annotations), interfaces, then super classes.
+	 */
+	private JsonSerializable findAnnotation(TypeElement type) {
+
+		JsonSerializable annotation = type.getAnnotation(JsonSerializable.class);
+
+		if (annotation != null) {
+			return annotation;
+		}
+
+		for (TypeMirror cif : type.getInterfaces()) {
+			annotation = findAnnotation((TypeElement) types.asElement(cif));
+			if (annotation != null) {
+				return annotation;
+			}
+		}
+
+		TypeElement superclass = superclassOf(type);
+		return superclass != null ? findAnnotation(superclass) : null;
+	}
+
+	private TypeElement superclassOf(TypeElement type) {
+		TypeMirror superclass = type.getSuperclass();
+		return superclass.getKind() == TypeKind.DECLARED ? (TypeElement) types.asElement(superclass) : null;
+	}
+
+	/**
+	 * Checks if the type, and all its enclosing types, can be accessed from the given package.
+	 */
+	private boolean isAccessible(TypeElement type, PackageElement pkg) {
+
+		boolean samePackage = elements.getPackageOf(type).equals(pkg);
+
+		for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+
+			TypeElement t = (TypeElement) e;
+			Set<Modifier> modifiers = t.getModifiers();
+
+			if (t.getNestingKind() == NestingKind.LOCAL || t.getNestingKind() == NestingKind.ANONYMOUS) {
+				return false;
+			}
+
+			if (t.getNestingKind() == NestingKind.MEMBER && !modifiers.contains(Modifier.STATIC)) {
+				return false;
+			}
+
+			if (modifiers.contains(Modifier.PRIVATE) || (!samePackage && !modifiers.contains(Modifier.PUBLIC))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Checks if the type has a non-private default constructor. For types of other packages, the constructor
+	 * must be public.
+	 */
+	private boolean hasDefaultConstructor(TypeElement type) {
+
+		for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty()) {
+				return !constructor.getModifiers().contains(Modifier.PRIVATE);
+			}
+		}
+
+		// no explicit default constructor, so there must not be any other
+		return ElementFilter.constructorsIn(type.getEnclosedElements()).isEmpty();
+	}
+
+	private boolean isPrimitive(TypeMirror type, TypeKind... kinds) {
+		for (TypeKind kind : kinds) {
+			if (type.getKind() == kind) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private String classLiteral(TypeMirror type) {
+		return types.erasure(type).toString() + ".class";
+	}
+
+	private String literal(Object value) {
+		return elements.getConstantExpression(value);
+	}
+
+	private static TypeMirror classValue(Supplier<Class<?>> value) {
+		try {
+			value.get();
+		} catch (MirroredTypeException e) {
+			return e.getTypeMirror();
+		}
+		throw new IllegalStateException("Expected class value to be mirrored");
+	}
+
+}
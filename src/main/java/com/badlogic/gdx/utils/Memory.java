@@ -1,17 +1,36 @@
 package com.badlogic.gdx.utils;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
 /**
  * Memory utility functions.
+ * <p>
+ * Functions are implemented natively if the gdx-snippets library has been loaded with
+ * {@link GdxSnippetsNativesLoader}. Otherwise, pure Java implementations are used, which access native memory
+ * through sun.misc.Unsafe where available. See {@link Memory#setImplementation(Implementation)}.
  */
 public class Memory {
 
+	public enum Implementation {
+		Native, // JNI functions of the gdx-snippets library
+		Unsafe, // sun.misc.Unsafe
+		Java // ByteBuffer functions, functions on raw addresses still use sun.misc.Unsafe
+	}
+
+	private static volatile Implementation implementation;
+	private static boolean boundsChecks = true;
+
 	/**
 	 * Allocates a direct {@link ByteBuffer} with an user-defined alignment.
 	 * <p>
 	 * Internally a slightly larger buffer is created, wasting up to [alignment] bytes of native memory.
+	 * Use a {@link MemoryArena} for frequent allocations of short-lived buffers.
 	 */
 	public static ByteBuffer allocateDirectAligned(int capacity, long alignment) {
 
@@ -49,16 +68,539 @@ public class Memory {
 			throw new GdxRuntimeException("Buffer overflow!");
 		}
 
-		long address = getAddress(buffer);
-		memset(address, value, offset, count);
+		switch (getImplementation()) {
+			case Native:
+				memset(getAddress(buffer, 0), value, offset, count);
+				break;
+			case Unsafe:
+				UnsafeAccess.setMemory(UnsafeAccess.getAddress(buffer) + offset, count, value);
+				break;
+			default:
+				fill(buffer, value, offset, count);
+				break;
+		}
 	}
 
 	public static void memsetDirect(long address, byte value, int offset, int count) {
-		memset(address, value, offset, count);
+
+		if (getImplementation() == Implementation.Native) {
+			memset(address, value, offset, count);
+		} else {
+			UnsafeAccess.check();
+			UnsafeAccess.setMemory(address + offset, count, value);
+		}
+	}
+
+	/**
+	 * Copies bytes between two direct buffers. The memory regions must not overlap.
+	 * <p>
+	 * Like {@link Memory#memsetDirect(ByteBuffer, byte, int, int)}, this function ignores and doesn't modify
+	 * the position and limit of the buffers. The same applies to the other buffer functions below.
+	 */
+	public static void memcpyDirect(ByteBuffer src, int srcOffset, ByteBuffer dst, int dstOffset, int count) {
+
+		checkBounds(src, srcOffset, count);
+		checkBounds(dst, dstOffset, count);
+
+		switch (getImplementation()) {
+			case Native:
+				memcpy(getAddress(src, srcOffset), getAddress(dst, dstOffset), count);
+				break;
+			case Unsafe:
+				UnsafeAccess.copyMemory(
+						UnsafeAccess.getAddress(src) + srcOffset, UnsafeAccess.getAddress(dst) + dstOffset, count);
+				break;
+			default:
+				copy(src, srcOffset, dst, dstOffset, count);
+				break;
+		}
+	}
+
+	/**
+	 * Copies bytes between two direct buffers, or within the same buffer. The memory regions may overlap.
+	 */
+	public static void memmoveDirect(ByteBuffer src, int srcOffset, ByteBuffer dst, int dstOffset, int count) {
+
+		checkBounds(src, srcOffset, count);
+		checkBounds(dst, dstOffset, count);
+
+		switch (getImplementation()) {
+			case Native:
+				memmove(getAddress(src, srcOffset), getAddress(dst, dstOffset), count);
+				break;
+			case Unsafe:
+				// Unsafe.copyMemory() handles overlapping regions
+				UnsafeAccess.copyMemory(
+						UnsafeAccess.getAddress(src) + srcOffset, UnsafeAccess.getAddress(dst) + dstOffset, count);
+				break;
+			default:
+				// bulk copies between direct buffers are implemented with Unsafe.copyMemory() by the JDK
+				copy(src, srcOffset, dst, dstOffset, count);
+				break;
+		}
+	}
+
+	/**
+	 * Compares bytes of two direct buffers as unsigned values. Returns a negative value, zero, or a positive
+	 * value, if the first range is less than, equal to, or greater than the second.
+	 */
+	public static int memcmpDirect(ByteBuffer a, int aOffset, ByteBuffer b, int bOffset, int count) {
+
+		checkBounds(a, aOffset, count);
+		checkBounds(b, bOffset, count);
+
+		switch (getImplementation()) {
+			case Native:
+				return memcmp(getAddress(a, aOffset), getAddress(b, bOffset), count);
+			case Unsafe:
+				return compare(UnsafeAccess.getAddress(a) + aOffset, UnsafeAccess.getAddress(b) + bOffset, count);
+			default:
+				return compare(a, aOffset, b, bOffset, count);
+		}
+	}
+
+	/**
+	 * Fills a range of a direct buffer with repetitions of a pattern of bytes. The last repetition is cut off if
+	 * the pattern length doesn't divide the count.
+	 */
+	public static void fillDirect(ByteBuffer buffer, int offset, int count, byte[] pattern) {
+
+		checkBounds(buffer, offset, count);
+
+		if (pattern.length == 0) {
+			throw new IllegalArgumentException("Empty pattern!");
+		}
+
+		int length = Math.min(pattern.length, count);
+
+		ByteBuffer target = buffer.duplicate();
+		target.position(offset);
+		target.put(pattern, 0, length);
+
+		// double the filled range with each copy
+		while (length < count) {
+			int chunk = Math.min(length, count - length);
+			memcpyDirect(buffer, offset, buffer, offset + length, chunk);
+			length += chunk;
+		}
+	}
+
+	/**
+	 * Copies bytes between two memory addresses. The memory regions must not overlap. There are no bounds checks.
+	 */
+	public static void memcpyDirect(long srcAddress, long dstAddress, long count) {
+
+		if (getImplementation() == Implementation.Native) {
+			memcpy(srcAddress, dstAddress, count);
+		} else {
+			UnsafeAccess.check();
+			UnsafeAccess.copyMemory(srcAddress, dstAddress, count);
+		}
+	}
+
+	/**
+	 * Copies bytes between two memory addresses. The memory regions may overlap. There are no bounds checks.
+	 */
+	public static void memmoveDirect(long srcAddress, long dstAddress, long count) {
+
+		if (getImplementation() == Implementation.Native) {
+			memmove(srcAddress, dstAddress, count);
+		} else {
+			UnsafeAccess.check();
+			UnsafeAccess.copyMemory(srcAddress, dstAddress, count);
+		}
+	}
+
+	/**
+	 * Compares bytes at two memory addresses as unsigned values. There are no bounds checks.
+	 */
+	public static int memcmpDirect(long aAddress, long bAddress, long count) {
+
+		if (getImplementation() == Implementation.Native) {
+			return memcmp(aAddress, bAddress, count);
+		}
+
+		UnsafeAccess.check();
+		return compare(aAddress, bAddress, count);
+	}
+
+	/**
+	 * Enables or disables the checks done by the buffer functions, which make sure that the buffers are direct,
+	 * and that all offsets are within their capacity. Enabled by default.
+	 * <p>
+	 * With checks disabled, a wrong offset corrupts memory, or crashes the JVM.
+	 */
+	public static void setBoundsChecks(boolean enabled) {
+		boundsChecks = enabled;
+	}
+
+	/**
+	 * Explicitly frees the native memory of a direct {@link ByteBuffer}, or unmaps a
+	 * {@link java.nio.MappedByteBuffer}, instead of waiting for the garbage collector to do so.
+	 * <p>
+	 * This only works for buffers which own their memory, not for slices or duplicates. Any access to the
+	 * buffer, or to views created from it, after this call results in undefined behaviour.
+	 */
+	public static void freeDirect(ByteBuffer buffer) {
+
+		if (!buffer.isDirect()) {
+			throw new GdxRuntimeException("Not a direct buffer!");
+		}
+
+		try {
+			Cleaner.invoke(buffer);
+		} catch (ReflectiveOperationException e) {
+			throw new GdxRuntimeException("Failed to free direct buffer", e);
+		}
 	}
 
 	public static long getAddress(ByteBuffer buffer) {
-		return getAddress(buffer, 0);
+
+		if (getImplementation() == Implementation.Native) {
+			return getAddress(buffer, 0);
+		}
+
+		if (!buffer.isDirect()) {
+			throw new GdxRuntimeException("Not a direct buffer!");
+		}
+
+		UnsafeAccess.check();
+		return UnsafeAccess.getAddress(buffer);
+	}
+
+	/**
+	 * Returns the implementation in use. If none has been set, the first one available is chosen, in the order
+	 * of declaration.
+	 */
+	public static Implementation getImplementation() {
+
+		Implementation current = implementation;
+
+		if (current == null) {
+			current = detectImplementation();
+		}
+
+		return current;
+	}
+
+	private static synchronized Implementation detectImplementation() {
+
+		if (implementation == null) {
+			if (isNativeAvailable()) {
+				implementation = Implementation.Native;
+			} else if (UnsafeAccess.available) {
+				implementation = Implementation.Unsafe;
+			} else {
+				implementation = Implementation.Java;
+			}
+		}
+
+		return implementation;
+	}
+
+	/**
+	 * Selects the implementation to use, e.g. to compare their performance on a platform.
+	 */
+	public static synchronized void setImplementation(Implementation implementation) {
+
+		if (implementation == Implementation.Native && !isNativeAvailable()) {
+			throw new GdxRuntimeException("Native library not loaded!");
+		}
+
+		if (implementation == Implementation.Unsafe && !UnsafeAccess.available) {
+			throw new GdxRuntimeException("sun.misc.Unsafe not available!");
+		}
+
+		Memory.implementation = implementation;
+	}
+
+	/**
+	 * Probes the native functions added last, so that libraries built from an older version of this class are
+	 * not used.
+	 */
+	private static boolean isNativeAvailable() {
+		try {
+			long address = getAddress(ByteBuffer.allocateDirect(1), 0);
+			memcpy(address, address, 0);
+			memmove(address, address, 0);
+			memcmp(address, address, 0);
+			return true;
+		} catch (UnsatisfiedLinkError e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Fills a buffer with absolute puts of eight bytes at once, which are compiled to plain stores.
+	 */
+	private static void fill(ByteBuffer buffer, byte value, int offset, int count) {
+
+		ByteBuffer target = buffer.duplicate().order(ByteOrder.nativeOrder());
+		long pattern = (value & 0xffL) * 0x0101010101010101L;
+
+		int end = offset + count;
+		int index = offset;
+
+		for (; index + 8 <= end; index += 8) {
+			target.putLong(index, pattern);
+		}
+
+		for (; index < end; index++) {
+			target.put(index, value);
+		}
+	}
+
+	private static void checkBounds(ByteBuffer buffer, int offset, int count) {
+
+		if (!boundsChecks) {
+			return;
+		}
+
+		if (!buffer.isDirect()) {
+			throw new GdxRuntimeException("Not a direct buffer!");
+		}
+
+		if (offset < 0 || count < 0 || buffer.capacity() - offset < count) {
+			throw new GdxRuntimeException("Buffer overflow!");
+		}
+	}
+
+	private static void copy(ByteBuffer src, int srcOffset, ByteBuffer dst, int dstOffset, int count) {
+
+		ByteBuffer source = src.duplicate();
+		source.limit(srcOffset + count);
+		source.position(srcOffset);
+
+		ByteBuffer target = dst.duplicate();
+		target.position(dstOffset);
+		target.put(source);
+	}
+
+	/**
+	 * Compares eight bytes at once. Big endian order makes the comparison of two longs the same as the
+	 * comparison of their bytes in memory order.
+	 */
+	private static int compare(ByteBuffer a, int aOffset, ByteBuffer b, int bOffset, int count) {
+
+		ByteBuffer x = a.duplicate().order(ByteOrder.BIG_ENDIAN);
+		ByteBuffer y = b.duplicate().order(ByteOrder.BIG_ENDIAN);
+
+		int index = 0;
+
+		for (; index + 8 <= count; index += 8) {
+			int result = Long.compareUnsigned(x.getLong(aOffset + index), y.getLong(bOffset + index));
+			if (result != 0) {
+				return result;
+			}
+		}
+
+		for (; index < count; index++) {
+			int result = Byte.toUnsignedInt(x.get(aOffset + index)) - Byte.toUnsignedInt(y.get(bOffset + index));
+			if (result != 0) {
+				return result;
+			}
+		}
+
+		return 0;
+	}
+
+	private static int compare(long aAddress, long bAddress, long count) {
+
+		boolean littleEndian = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+		long index = 0;
+
+		for (; index + 8 <= count; index += 8) {
+
+			long x = UnsafeAccess.getLong(aAddress + index);
+			long y = UnsafeAccess.getLong(bAddress + index);
+
+			if (x != y) {
+				if (littleEndian) {
+					x = Long.reverseBytes(x);
+					y = Long.reverseBytes(y);
+				}
+				return Long.compareUnsigned(x, y);
+			}
+		}
+
+		for (; index < count; index++) {
+			int result = Byte.toUnsignedInt(UnsafeAccess.getByte(aAddress + index))
+					- Byte.toUnsignedInt(UnsafeAccess.getByte(bAddress + index));
+			if (result != 0) {
+				return result;
+			}
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Access to sun.misc.Unsafe, and the address field of {@link java.nio.Buffer}.
+	 * <p>
+	 * Unsafe is looked up by reflection, so that this class compiles without access to JDK-internal APIs. Its
+	 * functions are called through static final method handles, which the JIT compiles to direct calls.
+	 */
+	private static class UnsafeAccess {
+
+		static final boolean available;
+
+		private static final MethodHandle getLongObject;
+		private static final MethodHandle getLong;
+		private static final MethodHandle getByte;
+		private static final MethodHandle setMemory;
+		private static final MethodHandle copyMemory;
+
+		private static final long addressOffset;
+
+		static {
+
+			MethodHandle[] handles = new MethodHandle[5];
+			long offset = -1L;
+
+			try {
+
+				Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+				Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+				theUnsafe.setAccessible(true);
+				Object unsafe = theUnsafe.get(null);
+
+				MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+				offset = (long) lookup.findVirtual(unsafeClass, "objectFieldOffset",
+						MethodType.methodType(long.class, Field.class))
+						.invoke(unsafe, java.nio.Buffer.class.getDeclaredField("address"));
+
+				handles[0] = lookup.findVirtual(unsafeClass, "getLong",
+						MethodType.methodType(long.class, Object.class, long.class)).bindTo(unsafe);
+				handles[1] = lookup.findVirtual(unsafeClass, "getLong",
+						MethodType.methodType(long.class, long.class)).bindTo(unsafe);
+				handles[2] = lookup.findVirtual(unsafeClass, "getByte",
+						MethodType.methodType(byte.class, long.class)).bindTo(unsafe);
+				handles[3] = lookup.findVirtual(unsafeClass, "setMemory",
+						MethodType.methodType(void.class, long.class, long.class, byte.class)).bindTo(unsafe);
+				handles[4] = lookup.findVirtual(unsafeClass, "copyMemory",
+						MethodType.methodType(void.class, long.class, long.class, long.class)).bindTo(unsafe);
+
+			} catch (Throwable t) {
+				if (t instanceof VirtualMachineError) {
+					throw (VirtualMachineError) t;
+				}
+				handles[0] = null;
+			}
+
+			available = handles[0] != null;
+
+			getLongObject = handles[0];
+			getLong = handles[1];
+			getByte = handles[2];
+			setMemory = handles[3];
+			copyMemory = handles[4];
+
+			addressOffset = offset;
+		}
+
+		static void check() {
+			if (!available) {
+				throw new GdxRuntimeException("Native memory access requires the native library, or sun.misc.Unsafe!");
+			}
+		}
+
+		static long getAddress(ByteBuffer buffer) {
+			try {
+				return (long) getLongObject.invokeExact((Object) buffer, addressOffset);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new GdxRuntimeException(t);
+			}
+		}
+
+		static long getLong(long address) {
+			try {
+				return (long) getLong.invokeExact(address);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new GdxRuntimeException(t);
+			}
+		}
+
+		static byte getByte(long address) {
+			try {
+				return (byte) getByte.invokeExact(address);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new GdxRuntimeException(t);
+			}
+		}
+
+		static void setMemory(long address, long count, byte value) {
+			try {
+				setMemory.invokeExact(address, count, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new GdxRuntimeException(t);
+			}
+		}
+
+		static void copyMemory(long srcAddress, long dstAddress, long count) {
+			try {
+				copyMemory.invokeExact(srcAddress, dstAddress, count);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new GdxRuntimeException(t);
+			}
+		}
+	}
+
+	/**
+	 * Reflective access to the JDK-internal buffer cleaner.
+	 * <p>
+	 * Java 9+ exposes sun.misc.Unsafe.invokeCleaner(), Java 8 only has the cleaner() function of the
+	 * (package-private) direct buffer implementation.
+	 */
+	private static class Cleaner {
+
+		private static Object unsafe;
+		private static Method invokeCleaner;
+		private static boolean initialized;
+
+		static synchronized void invoke(ByteBuffer buffer) throws ReflectiveOperationException {
+
+			if (!initialized) {
+				initialized = true;
+				try {
+					Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+					invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+					Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+					theUnsafe.setAccessible(true);
+					unsafe = theUnsafe.get(null);
+				} catch (NoSuchMethodException e) {
+					invokeCleaner = null;
+				}
+			}
+
+			if (invokeCleaner != null) {
+				invokeCleaner.invoke(unsafe, buffer);
+				return;
+			}
+
+			Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+			cleanerMethod.setAccessible(true);
+			Object cleaner = cleanerMethod.invoke(buffer);
+
+			if (cleaner == null) {
+				throw new IllegalArgumentException("Buffer doesn't own its memory");
+			}
+
+			Method cleanMethod = cleaner.getClass().getMethod("clean");
+			cleanMethod.setAccessible(true);
+			cleanMethod.invoke(cleaner);
+		}
 	}
 
 	// @off
@@ -76,4 +618,16 @@ public class Memory {
 		memset(ptr, value, count);
 	*/
 
+	private static native void memcpy(long srcAddress, long dstAddress, long count); /*
+		memcpy((void*) dstAddress, (const void*) srcAddress, (size_t) count);
+	*/
+
+	private static native void memmove(long srcAddress, long dstAddress, long count); /*
+		memmove((void*) dstAddress, (const void*) srcAddress, (size_t) count);
+	*/
+
+	private static native int memcmp(long aAddress, long bAddress, long count); /*
+		return memcmp((const void*) aAddress, (const void*) bAddress, (size_t) count);
+	*/
+
 }
@@ -0,0 +1,201 @@
+package com.badlogic.gdx.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Allocator which carves aligned sub-buffers from large, direct blocks of native memory.
+ * <p>
+ * Allocation is a simple bump of an offset into the current block. Single allocations can't be freed. Instead,
+ * the arena is rewound as a whole with {@link MemoryArena#reset()}, or back to a position obtained from
+ * {@link MemoryArena#mark()}. The blocks are kept for reuse, so an arena used as a per-frame scratch allocator
+ * stops allocating new native memory once it has grown to the size needed by one frame.
+ * <pre>
+ * {@code
+ * long mark = arena.mark();
+ * try {
+ *     ByteBuffer vertices = arena.allocate(size, 16);
+ *     ...
+ * } finally {
+ *     arena.reset(mark);
+ * }
+ * }
+ * </pre>
+ * Buffers returned by this class must not be used after the arena has been rewound past them, or has been
+ * disposed. The memory may have been handed out again, or may have been freed.
+ * <p>
+ * Instances of this class are not thread-safe.
+ */
+public class MemoryArena implements Disposable {
+
+	private final int blockSize;
+
+	private final Array<ByteBuffer> blocks = new Array<>(ByteBuffer.class);
+	private int[] used = new int[4];
+
+	private int block = -1;
+	private int offset;
+
+	private long reservedBytes;
+
+	/**
+	 * @param blockSize size of the native memory blocks. Allocations larger than this get a block of their own.
+	 */
+	public MemoryArena(int blockSize) {
+
+		if (blockSize <= 0) {
+			throw new IllegalArgumentException("Invalid block size: " + blockSize);
+		}
+
+		this.blockSize = blockSize;
+	}
+
+	/**
+	 * Returns a direct buffer with native byte order, and an address aligned to a multiple of the given
+	 * alignment, which must be a power of two. The content of the buffer is undefined.
+	 */
+	public ByteBuffer allocate(int capacity, int alignment) {
+
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+		}
+
+		if (alignment <= 0 || (alignment & (alignment - 1)) != 0) {
+			throw new IllegalArgumentException("Alignment must be a power of two: " + alignment);
+		}
+
+		int position = block >= 0 ? alignedOffset(blocks.items[block], offset, alignment) : -1;
+
+		if (position < 0 || position + capacity > blocks.items[block].capacity()) {
+			nextBlock(capacity + alignment - 1);
+			position = alignedOffset(blocks.items[block], 0, alignment);
+		}
+
+		offset = position + capacity;
+		used[block] = offset;
+
+		ByteBuffer buffer = blocks.items[block].duplicate();
+		buffer.limit(position + capacity);
+		buffer.position(position);
+
+		return buffer.slice().order(ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * Returns the current position of the arena, to be passed to {@link MemoryArena#reset(long)} later.
+	 */
+	public long mark() {
+		return ((long) block << 32) | (offset & 0xffffffffL);
+	}
+
+	/**
+	 * Rewinds the arena to a position returned by {@link MemoryArena#mark()}. All memory allocated after the
+	 * call to mark() can be handed out again.
+	 */
+	public void reset(long mark) {
+
+		int markBlock = (int) (mark >> 32);
+		int markOffset = (int) mark;
+
+		if (markBlock > block || (markBlock == block && markOffset > offset)) {
+			throw new GdxRuntimeException("Can't reset the arena to a position ahead of the current one!");
+		}
+
+		for (int i = Math.max(markBlock, 0); i <= block; i++) {
+			used[i] = 0;
+		}
+
+		block = markBlock;
+		offset = markOffset;
+
+		if (block >= 0) {
+			used[block] = offset;
+		}
+	}
+
+	/**
+	 * Rewinds the arena to its start. All memory can be handed out again.
+	 */
+	public void reset() {
+		reset(-1L << 32);
+	}
+
+	/**
+	 * Frees the native memory of all blocks which are not in use, e.g. after a frame which needed more scratch
+	 * memory than usual.
+	 */
+	public void trim() {
+
+		for (int i = blocks.size - 1; i > block; i--) {
+			free(blocks.removeIndex(i));
+		}
+	}
+
+	/**
+	 * Frees the native memory of all blocks. The arena can still be used afterwards, and allocates new blocks
+	 * as needed.
+	 */
+	@Override
+	public void dispose() {
+		reset();
+		trim();
+	}
+
+	/**
+	 * Returns the number of bytes in use, including padding for alignment.
+	 */
+	public long getUsedBytes() {
+
+		long bytes = 0;
+
+		for (int i = 0; i <= block; i++) {
+			bytes += used[i];
+		}
+
+		return bytes;
+	}
+
+	/**
+	 * Returns the number of bytes of native memory held by this arena.
+	 */
+	public long getReservedBytes() {
+		return reservedBytes;
+	}
+
+	/**
+	 * Advances to the next block, or inserts a new one if the next block is too small.
+	 */
+	private void nextBlock(int size) {
+
+		block++;
+
+		if (block < blocks.size && blocks.items[block].capacity() >= size) {
+			return;
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(size, blockSize));
+		reservedBytes += buffer.capacity();
+
+		blocks.insert(block, buffer);
+
+		if (blocks.size > used.length) {
+			int[] newUsed = new int[Math.max(8, (int) (blocks.size * 1.75f))];
+			System.arraycopy(used, 0, newUsed, 0, used.length);
+			used = newUsed;
+		}
+
+		System.arraycopy(used, block, used, block + 1, blocks.size - block - 1);
+		used[block] = 0;
+	}
+
+	private void free(ByteBuffer buffer) {
+		reservedBytes -= buffer.capacity();
+		Memory.freeDirect(buffer);
+	}
+
+	private static int alignedOffset(ByteBuffer buffer, int offset, int alignment) {
+		long address = Memory.getAddress(buffer) + offset;
+		return offset + (int) ((alignment - (address & (alignment - 1))) & (alignment - 1));
+	}
+
+}
@@ -0,0 +1,159 @@
+package com.badlogic.gdx.files;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+/**
+ * Compares speed and compression ratio of the {@link StreamCodec} implementations, on a few kinds of input.
+ * <p>
+ * This is a standalone program, not a unit test. Run it with the main and test classes on the classpath.
+ * Optional arguments are the input size in MB, and the number of measured iterations.
+ */
+public class CodecBenchmark {
+
+	public static void main(String[] args) throws IOException {
+
+		int size = args.length > 0 ? Integer.parseInt(args[0]) * 1024 * 1024 : 8 * 1024 * 1024;
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+		String[] inputNames = { "json", "text", "random" };
+		byte[][] inputs = { json(size), text(size), random(size) };
+
+		String[] codecNames = { "gzip-1", "gzip-6", "gzip-9", "lz4-64k", "lz4-256k", "lz4-1m" };
+		StreamCodec[] codecs = {
+				new GZipCodec(Deflater.BEST_SPEED),
+				GZipCodec.DEFAULT,
+				new GZipCodec(Deflater.BEST_COMPRESSION),
+				new LZ4Codec(64 * 1024),
+				LZ4Codec.DEFAULT,
+				new LZ4Codec(1024 * 1024)
+		};
+
+		System.out.printf("%-8s %-10s %8s %12s %12s%n", "input", "codec", "ratio", "encode MB/s", "decode MB/s");
+
+		for (int i = 0; i < inputs.length; i++) {
+			for (int c = 0; c < codecs.length; c++) {
+
+				byte[] input = inputs[i];
+				StreamCodec codec = codecs[c];
+
+				byte[] encoded = encode(codec, input);
+
+				// warm up
+				for (int w = 0; w < 2; w++) {
+					decode(codec, encode(codec, input), input.length);
+				}
+
+				long encodeTime = Long.MAX_VALUE;
+				long decodeTime = Long.MAX_VALUE;
+
+				for (int n = 0; n < iterations; n++) {
+
+					long start = System.nanoTime();
+					encode(codec, input);
+					encodeTime = Math.min(encodeTime, System.nanoTime() - start);
+
+					start = System.nanoTime();
+					decode(codec, encoded, input.length);
+					decodeTime = Math.min(decodeTime, System.nanoTime() - start);
+				}
+
+				System.out.printf("%-8s %-10s %8.3f %12.1f %12.1f%n", inputNames[i], codecNames[c],
+						(double) encoded.length / input.length,
+						megabytesPerSecond(input.length, encodeTime),
+						megabytesPerSecond(input.length, decodeTime));
+			}
+		}
+	}
+
+	private static byte[] encode(StreamCodec codec, byte[] input) throws IOException {
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(input.length / 2);
+
+		try (OutputStream stream = codec.encode(bytes)) {
+			stream.write(input);
+		}
+
+		return bytes.toByteArray();
+	}
+
+	private static void decode(StreamCodec codec, byte[] encoded, int length) throws IOException {
+
+		byte[] buffer = new byte[64 * 1024];
+		int total = 0;
+
+		try (InputStream stream = codec.decode(new ByteArrayInputStream(encoded))) {
+			int n;
+			while ((n = stream.read(buffer)) > 0) {
+				total += n;
+			}
+		}
+
+		if (total != length) {
+			throw new IllegalStateException("Decoded " + total + " bytes, expected " + length);
+		}
+	}
+
+	private static double megabytesPerSecond(int bytes, long nanos) {
+		return bytes / (1024.0 * 1024.0) / (nanos / 1e9);
+	}
+
+	/**
+	 * Pretty-printed JSON, similar to the output of AnnotatedJson.
+	 */
+	private static byte[] json(int size) {
+
+		Random random = new Random(1);
+		StringBuilder builder = new StringBuilder(size + 256);
+
+		builder.append("{\n\titems: [\n");
+
+		while (builder.length() < size) {
+			builder.append("\t\t{\n\t\t\tname: \"item").append(random.nextInt(1000))
+					.append("\",\n\t\t\tposition: [ ").append(random.nextFloat() * 100f).append(", ")
+					.append(random.nextFloat() * 100f).append(" ],\n\t\t\tcount: ").append(random.nextInt(100))
+					.append(",\n\t\t\tvisible: ").append(random.nextBoolean()).append("\n\t\t},\n");
+		}
+
+		return bytes(builder, size);
+	}
+
+	/**
+	 * Words from a small vocabulary, with a skewed distribution.
+	 */
+	private static byte[] text(int size) {
+
+		String[] words = { "the", "of", "and", "texture", "atlas", "region", "sprite", "batch", "shader",
+				"vertex", "buffer", "frame", "render", "update", "world", "entity", "component", "system" };
+
+		Random random = new Random(2);
+		StringBuilder builder = new StringBuilder(size + 64);
+
+		while (builder.length() < size) {
+			int index = (int) (words.length * random.nextFloat() * random.nextFloat());
+			builder.append(words[index]).append(random.nextInt(10) == 0 ? ".\n" : " ");
+		}
+
+		return bytes(builder, size);
+	}
+
+	private static byte[] random(int size) {
+		byte[] bytes = new byte[size];
+		new Random(3).nextBytes(bytes);
+		return bytes;
+	}
+
+	private static byte[] bytes(StringBuilder builder, int size) {
+		byte[] bytes = new byte[size];
+		for (int i = 0; i < size; i++) {
+			bytes[i] = (byte) builder.charAt(i);
+		}
+		return bytes;
+	}
+
+}
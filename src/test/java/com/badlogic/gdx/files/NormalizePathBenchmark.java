@@ -0,0 +1,169 @@
+package com.badlogic.gdx.files;
+
+import java.lang.management.ManagementFactory;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares {@link FileUtils#normalizePath(String)} with the regex-based normalization which was used by
+ * {@link FileUtils#normalize(com.badlogic.gdx.files.FileHandle)} before, in time and allocated bytes per call.
+ * <p>
+ * Paths are measured as cache hits (a small set of paths used over and over), and as cache misses (more
+ * distinct paths than the cache holds), each with paths which need to be rewritten and with paths which are
+ * normalized already.
+ * <p>
+ * Before measuring, the results of {@link FileUtils#normalizePath(String)} are checked against a list of
+ * expected outputs, including the root handling of absolute, drive and UNC paths.
+ * <p>
+ * This is a standalone program, not a unit test. Run it with the main and test classes on the classpath.
+ * Allocated bytes are only reported on JVMs which support per-thread allocation counters.
+ */
+public class NormalizePathBenchmark {
+
+	private static final Pattern relative = Pattern.compile("(/[a-zA-Z0-9\\-_]+/\\.\\.)");
+
+	private static final int CALLS = 1000000;
+
+	/** Pairs of input and expected output. */
+	private static final String[] EXPECTED = {
+			"", "",
+			".", ".",
+			"./", ".",
+			"a/..", ".",
+			"assets/..", ".",
+			"../a", "../a",
+			"a/../../b", "../b",
+			"a//b/./c/", "a/b/c",
+			"assets\\textures\\../sprites/item.png", "assets/sprites/item.png",
+			"/", "/",
+			"/a/../..", "/",
+			"/a/./b/../c", "/a/c",
+			"C:", "C:",
+			"C:/..", "C:/",
+			"C:\\a\\..\\..", "C:/",
+			"C:\\a\\b\\..", "C:/a",
+			"C:a\\..\\b", "C:b",
+			"C:..\\a", "C:../a",
+			"\\\\srv\\share\\..\\x", "//srv/share/x",
+			"//srv/share/a/../..", "//srv/share",
+			"\\\\srv", "//srv"
+	};
+
+	public static void main(String[] args) {
+
+		check();
+
+		String[][] inputs = {
+				paths(64, false), paths(64, true),
+				paths(16 * 1024, false), paths(16 * 1024, true)
+		};
+
+		String[] inputNames = {
+				"hit, rewritten", "hit, normalized",
+				"miss, rewritten", "miss, normalized"
+		};
+
+		System.out.printf("%-18s %-10s %10s %14s%n", "paths", "impl", "ns/call", "bytes/call");
+
+		long checksum = 0;
+
+		for (int iteration = 0; iteration < 3; iteration++) {
+
+			boolean print = iteration == 2;
+
+			for (int i = 0; i < inputs.length; i++) {
+
+				String[] paths = inputs[i];
+
+				long allocated = allocatedBytes();
+				long start = System.nanoTime();
+
+				for (int n = 0; n < CALLS; n++) {
+					checksum += FileUtils.normalizePath(paths[n % paths.length]).length();
+				}
+
+				long time = System.nanoTime() - start;
+				long bytes = allocatedBytes() - allocated;
+
+				if (print) {
+					print(inputNames[i], "current", time, bytes);
+				}
+
+				allocated = allocatedBytes();
+				start = System.nanoTime();
+
+				for (int n = 0; n < CALLS; n++) {
+					checksum += normalizeRegex(paths[n % paths.length]).length();
+				}
+
+				time = System.nanoTime() - start;
+				bytes = allocatedBytes() - allocated;
+
+				if (print) {
+					print(inputNames[i], "regex", time, bytes);
+				}
+			}
+		}
+
+		System.out.println("(checksum " + checksum + ")");
+	}
+
+	private static void check() {
+
+		for (int i = 0; i < EXPECTED.length; i += 2) {
+
+			String normalized = FileUtils.normalizePath(EXPECTED[i]);
+
+			if (!normalized.equals(EXPECTED[i + 1])) {
+				throw new IllegalStateException("Normalized \"" + EXPECTED[i] + "\" to \"" + normalized
+						+ "\", expected \"" + EXPECTED[i + 1] + "\"");
+			}
+		}
+	}
+
+	/**
+	 * The normalization used before {@link FileUtils#normalizePath(String)}.
+	 */
+	private static String normalizeRegex(String path) {
+		path = path.replaceAll("\\\\", "/");
+		for (;;) {
+			Matcher matcher = relative.matcher(path);
+			if (!matcher.find()) {
+				break;
+			}
+			String match = matcher.group(0);
+			path = path.replace(match, "");
+		}
+		return path;
+	}
+
+	/**
+	 * Relative paths like "assets/textures/../sprites/item123.png", or "assets/sprites/item123.png" if
+	 * normalized. Rewritten paths use Windows separators for half of the segments.
+	 */
+	private static String[] paths(int count, boolean normalized) {
+
+		String[] paths = new String[count];
+
+		for (int i = 0; i < count; i++) {
+			String name = "sprites" + (i % 16) + "/item" + i + ".png";
+			paths[i] = normalized ? "assets/" + name : "assets\\textures" + (i % 7) + "\\../" + name;
+		}
+
+		return paths;
+	}
+
+	private static long allocatedBytes() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return 0;
+	}
+
+	private static void print(String paths, String implementation, long nanos, long bytes) {
+		System.out.printf("%-18s %-10s %10.1f %14.1f%n", paths, implementation,
+				(double) nanos / CALLS, (double) bytes / CALLS);
+	}
+
+}
@@ -0,0 +1,121 @@
+package com.badlogic.gdx.json;
+
+import com.badlogic.gdx.json.annotations.JsonArray;
+import com.badlogic.gdx.json.annotations.JsonSerializable;
+import com.badlogic.gdx.json.annotations.JsonSerialize;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Measures save and load of 100k annotated objects through {@link AnnotatedJsonSerializer}.
+ * <p>
+ * Load is measured twice: once including parsing of the JSON text, and once reading from a parsed
+ * {@link JsonValue}, which only measures the serializer itself.
+ * <p>
+ * This is a standalone program, not a unit test. Run it with the main and test classes on the classpath.
+ * Optional arguments are the number of objects, and the number of measured iterations. The program only uses
+ * API which existed before {@link FieldAccessor} was added, so it can be copied to an older revision to compare
+ * timings before and after.
+ */
+public class AnnotatedJsonBenchmark {
+
+	@JsonSerializable
+	public static class Item {
+		@JsonSerialize public int id;
+		@JsonSerialize public int count;
+		@JsonSerialize public float x;
+		@JsonSerialize public float y;
+		@JsonSerialize public double weight;
+		@JsonSerialize public boolean visible;
+		@JsonSerialize public String name;
+		@JsonSerialize public Stats stats = new Stats();
+	}
+
+	@JsonSerializable
+	public static class Stats {
+		@JsonSerialize public int hp;
+		@JsonSerialize public int level;
+		@JsonSerialize public float speed;
+	}
+
+	@JsonSerializable
+	public static class World {
+		@JsonSerialize(array = @JsonArray(value = Item.class))
+		public Array<Item> items = new Array<>();
+	}
+
+	public static void main(String[] args) throws IOException {
+
+		int objects = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+		World world = world(objects);
+		Json json = AnnotatedJson.newWriter(World.class, null);
+
+		byte[] bytes = AnnotatedJson.write(world, json);
+		JsonValue jsonData = new JsonReader().parse(new String(bytes, "UTF-8"));
+
+		long checksum = 0;
+
+		// warm up
+		for (int i = 0; i < 3; i++) {
+			checksum += AnnotatedJson.write(world, json).length;
+			checksum += AnnotatedJson.read(bytes, World.class, json).items.size;
+			checksum += json.readValue(World.class, null, jsonData).items.size;
+		}
+
+		long writeTime = Long.MAX_VALUE;
+		long readTime = Long.MAX_VALUE;
+		long serializerTime = Long.MAX_VALUE;
+
+		for (int i = 0; i < iterations; i++) {
+
+			long start = System.nanoTime();
+			checksum += AnnotatedJson.write(world, json).length;
+			writeTime = Math.min(writeTime, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			checksum += AnnotatedJson.read(bytes, World.class, json).items.size;
+			readTime = Math.min(readTime, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			checksum += json.readValue(World.class, null, jsonData).items.size;
+			serializerTime = Math.min(serializerTime, System.nanoTime() - start);
+		}
+
+		System.out.printf("%d objects, %d KB%n", objects, bytes.length / 1024);
+		System.out.printf("save:                %8.2f ms%n", writeTime / 1e6);
+		System.out.printf("load:                %8.2f ms%n", readTime / 1e6);
+		System.out.printf("load from JsonValue: %8.2f ms%n", serializerTime / 1e6);
+		System.out.println("(checksum " + checksum + ")");
+	}
+
+	private static World world(int objects) {
+
+		Random random = new Random(1);
+		World world = new World();
+
+		for (int i = 0; i < objects; i++) {
+			Item item = new Item();
+			item.id = i;
+			item.count = random.nextInt(100);
+			item.x = random.nextFloat() * 1000f;
+			item.y = random.nextFloat() * 1000f;
+			item.weight = random.nextDouble();
+			item.visible = random.nextBoolean();
+			item.name = "item" + random.nextInt(1000);
+			item.stats.hp = random.nextInt(500);
+			item.stats.level = random.nextInt(50);
+			item.stats.speed = random.nextFloat();
+			world.items.add(item);
+		}
+
+		return world;
+	}
+
+}
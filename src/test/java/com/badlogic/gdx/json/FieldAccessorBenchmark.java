@@ -0,0 +1,73 @@
+package com.badlogic.gdx.json;
+
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.Field;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+
+/**
+ * Compares field access through {@link FieldAccessor} with the libGDX {@link Field}, which was used by
+ * {@link AnnotatedJsonSerializer} before.
+ * <p>
+ * This is a standalone program, not a unit test. Run it with the main and test classes on the classpath.
+ */
+public class FieldAccessorBenchmark {
+
+	public static class Sample {
+		public int number;
+		public float value;
+		public String text = "text";
+	}
+
+	private static final int OBJECTS = 1024;
+	private static final int ROUNDS = 10000;
+
+	public static void main(String[] args) throws ReflectionException {
+
+		Field number = ClassReflection.getDeclaredField(Sample.class, "number");
+		Field value = ClassReflection.getDeclaredField(Sample.class, "value");
+		Field text = ClassReflection.getDeclaredField(Sample.class, "text");
+
+		FieldAccessor numberAccessor = FieldAccessor.create(number);
+		FieldAccessor valueAccessor = FieldAccessor.create(value);
+		FieldAccessor textAccessor = FieldAccessor.create(text);
+
+		Sample[] samples = new Sample[OBJECTS];
+		for (int i = 0; i < OBJECTS; i++) {
+			samples[i] = new Sample();
+		}
+
+		long checksum = 0;
+
+		for (int iteration = 0; iteration < 10; iteration++) {
+
+			long start = System.nanoTime();
+
+			for (int round = 0; round < ROUNDS; round++) {
+				for (Sample sample : samples) {
+					numberAccessor.setInt(sample, numberAccessor.getInt(sample) + 1);
+					valueAccessor.setFloat(sample, valueAccessor.getFloat(sample) + 0.5f);
+					checksum += textAccessor.get(sample).hashCode();
+				}
+			}
+
+			long accessorTime = System.nanoTime() - start;
+			start = System.nanoTime();
+
+			for (int round = 0; round < ROUNDS; round++) {
+				for (Sample sample : samples) {
+					number.set(sample, (Integer) number.get(sample) + 1);
+					value.set(sample, (Float) value.get(sample) + 0.5f);
+					checksum += text.get(sample).hashCode();
+				}
+			}
+
+			long fieldTime = System.nanoTime() - start;
+
+			System.out.printf("FieldAccessor: %6.2f ns/object, libGDX Field: %6.2f ns/object%n",
+					(double) accessorTime / ROUNDS / OBJECTS, (double) fieldTime / ROUNDS / OBJECTS);
+		}
+
+		System.out.println("(checksum " + checksum + ")");
+	}
+
+}
@@ -0,0 +1,108 @@
+package com.badlogic.gdx.utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compares the {@link Memory.Implementation} variants of the {@link Memory} functions, for a few buffer sizes.
+ * <p>
+ * This is a standalone program, not a unit test. Run it with the main and test classes on the classpath. The
+ * native implementation is only measured if the gdx-snippets library can be loaded.
+ */
+public class MemoryBenchmark {
+
+	private static final int[] SIZES = { 64, 4 * 1024, 1024 * 1024 };
+	private static final long BYTES_PER_RUN = 256L * 1024 * 1024;
+
+	public static void main(String[] args) {
+
+		try {
+			GdxSnippetsNativesLoader.load(true, false);
+		} catch (Throwable t) {
+			System.out.println("Native library not available: " + t.getMessage());
+		}
+
+		ByteBuffer src = ByteBuffer.allocateDirect(SIZES[SIZES.length - 1]);
+		ByteBuffer dst = ByteBuffer.allocateDirect(SIZES[SIZES.length - 1]);
+
+		System.out.printf("%-8s %-10s %12s %12s %12s %14s%n",
+				"impl", "size", "memset MB/s", "memcpy MB/s", "memcmp MB/s", "getAddress ns");
+
+		long checksum = 0;
+
+		for (Memory.Implementation implementation : Memory.Implementation.values()) {
+
+			try {
+				Memory.setImplementation(implementation);
+			} catch (GdxRuntimeException e) {
+				System.out.printf("%-8s not available%n", implementation);
+				continue;
+			}
+
+			for (int size : SIZES) {
+
+				int count = (int) (BYTES_PER_RUN / size);
+
+				// warm up
+				for (int i = 0; i < 3; i++) {
+					checksum += run(src, dst, size, count / 4);
+				}
+
+				long memset = Long.MAX_VALUE;
+				long memcpy = Long.MAX_VALUE;
+				long memcmp = Long.MAX_VALUE;
+
+				for (int i = 0; i < 3; i++) {
+
+					long start = System.nanoTime();
+					for (int n = 0; n < count; n++) {
+						Memory.memsetDirect(dst, (byte) n, 0, size);
+					}
+					memset = Math.min(memset, System.nanoTime() - start);
+
+					start = System.nanoTime();
+					for (int n = 0; n < count; n++) {
+						Memory.memcpyDirect(src, 0, dst, 0, size);
+					}
+					memcpy = Math.min(memcpy, System.nanoTime() - start);
+
+					start = System.nanoTime();
+					for (int n = 0; n < count; n++) {
+						checksum += Memory.memcmpDirect(src, 0, dst, 0, size);
+					}
+					memcmp = Math.min(memcmp, System.nanoTime() - start);
+				}
+
+				long start = System.nanoTime();
+				for (int n = 0; n < 1000000; n++) {
+					checksum += Memory.getAddress(src);
+				}
+				long getAddress = System.nanoTime() - start;
+
+				System.out.printf("%-8s %-10d %12.0f %12.0f %12.0f %14.2f%n", implementation, size,
+						megabytesPerSecond(memset), megabytesPerSecond(memcpy), megabytesPerSecond(memcmp),
+						getAddress / 1e6);
+			}
+		}
+
+		System.out.println("(checksum " + checksum + ")");
+	}
+
+	private static long run(ByteBuffer src, ByteBuffer dst, int size, int count) {
+
+		long checksum = 0;
+
+		for (int n = 0; n < count; n++) {
+			Memory.memsetDirect(dst, (byte) n, 0, size);
+			Memory.memcpyDirect(src, 0, dst, 0, size);
+			checksum += Memory.memcmpDirect(src, 0, dst, 0, size);
+			checksum += Memory.getAddress(src);
+		}
+
+		return checksum;
+	}
+
+	private static double megabytesPerSecond(long nanos) {
+		return BYTES_PER_RUN / (1024.0 * 1024.0) / (nanos / 1e9);
+	}
+
+}